@@ -18,6 +18,18 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    // Benchmarks, run with `./gradlew jmh`
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val jmhImplementation: Configuration by configurations.getting {
+    extendsFrom(configurations.implementation.get())
+}
+
 dependencies {
     implementation("net.dv8tion", "JDA", "5.5.0")
     implementation("pw.chew", "jda-chewtils", "2.1")
@@ -26,16 +38,34 @@ dependencies {
     implementation("mysql", "mysql-connector-java", "8.0.33")
     implementation("org.mapdb", "mapdb", "3.1.0")
     implementation("org.hibernate", "hibernate-core", "5.6.15.Final")
+    implementation("org.hibernate", "hibernate-hikaricp", "5.6.15.Final")
+    implementation("org.hibernate", "hibernate-jcache", "5.6.15.Final")
     implementation("com.github.ben-manes.caffeine", "caffeine", "3.1.8")
+    implementation("com.github.ben-manes.caffeine", "jcache", "3.1.8")
 
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.3")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.10.3")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.3")
+
+    jmhImplementation("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    // Embedded database for ConfigLookupBenchmark
+    "jmhRuntimeOnly"("com.h2database:h2:2.2.224")
 }
 
 tasks.getByName<Test>("test") {
     useJUnitPlatform()
 }
 
+// Pass JMH options with -Pjmh="...", e.g. -Pjmh="PollReadBenchmark -prof gc"
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks."
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args((project.findProperty("jmh") as String? ?: "-prof gc").split(" ").filter { it.isNotBlank() })
+}
+
 tasks.withType<org.jetbrains.kotlin.gradle.tasks.KotlinCompile> {
     kotlinOptions.jvmTarget = "17"
     kotlinOptions.apiVersion = "1.6"
@@ -0,0 +1,85 @@
+package pw.chew.mlb.objects;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pw.chew.chewbotcca.util.DatabaseHelper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * How long a channel config lookup takes while many game threads look up configs at once, against an embedded H2
+ * database.
+ * <br>
+ * {@code database} skips {@link ChannelConfig}'s own cache and goes through Hibernate every time, like a cache miss.
+ * With {@code pooled} it uses the default settings, a HikariCP pool and the second-level entity cache, and without it
+ * Hibernate's built-in connection pool and no entity cache. {@code cached} is the usual case, a hit in
+ * {@link ChannelConfig}'s cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ConfigLookupBenchmark {
+    private static final int CHANNELS = 1_000;
+
+    @Param({"true", "false"})
+    public boolean pooled;
+
+    @Setup
+    public void setup() {
+        Map<String, String> settings = new HashMap<>();
+        settings.put("hibernate.connection.driver_class", "org.h2.Driver");
+        settings.put("hibernate.connection.url", "jdbc:h2:mem:configs;DB_CLOSE_DELAY=-1");
+        settings.put("hibernate.connection.username", "sa");
+        settings.put("hibernate.connection.password", "");
+        settings.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        settings.put("hibernate.hbm2ddl.auto", "create");
+        if (!pooled) {
+            settings.put("hibernate.connection.provider_class", "org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl");
+            settings.put("hibernate.cache.use_second_level_cache", "false");
+        }
+        DatabaseHelper.openConnection(settings);
+
+        // Creates every channel with the default config
+        List<String> ids = LongStream.rangeClosed(1, CHANNELS).mapToObj(String::valueOf).toList();
+        ChannelConfig.preload(ids);
+    }
+
+    @TearDown
+    public void tearDown() {
+        DatabaseHelper.getSessionFactory().close();
+    }
+
+    @Benchmark
+    public ChannelConfig database() {
+        return ChannelConfig.retrieveChannel(randomChannel(), false);
+    }
+
+    @Benchmark
+    public ChannelConfig cached() {
+        return ChannelConfig.getConfig(randomChannel(), false);
+    }
+
+    private static String randomChannel() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(1, CHANNELS + 1));
+    }
+}
@@ -0,0 +1,220 @@
+package pw.chew.mlb.objects;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What one poll of a game costs to read: everything the game loop looks at, as many times as it looks at it.
+ * <br>
+ * {@code gameState} is the old way, a {@link GameState} that walks the JSON again on every call, and {@code snapshot}
+ * reads the same feed once into a {@link GameSnapshot}. Both start from an already parsed feed, so only reading it is
+ * measured. The {@code Parsed} variants include parsing the response String, and {@code snapshotStreamed} builds the
+ * snapshot straight off the response bytes. Run with {@code -prof gc} to compare allocation per poll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PollReadBenchmark {
+    /**
+     * Plate appearances in the feed. A 9 inning game has around 75.
+     */
+    @Param({"10", "80"})
+    public int plays;
+
+    private JSONObject feed;
+    private String body;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        feed = feed(plays);
+        body = feed.toString();
+        bytes = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void gameState(Blackhole bh) {
+        read(new GameState(feed, "1"), bh);
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole bh) {
+        read(GameSnapshot.from(feed, "1"), bh);
+    }
+
+    @Benchmark
+    public void gameStateParsed(Blackhole bh) {
+        read(new GameState(new JSONObject(body), "1"), bh);
+    }
+
+    @Benchmark
+    public void snapshotParsed(Blackhole bh) {
+        read(GameSnapshot.from(new JSONObject(body), "1"), bh);
+    }
+
+    @Benchmark
+    public void snapshotStreamed(Blackhole bh) {
+        read(GameSnapshot.stream(new ByteArrayInputStream(bytes), "1"), bh);
+    }
+
+    /**
+     * Reads a game the way the game loop did before snapshots, when a play was sent.
+     */
+    private static void read(GameState state, Blackhole bh) {
+        bh.consume(state.failed());
+        bh.consume(state.gameState());
+        bh.consume(state.isCancelled() || state.isPostponed() || state.isSuspended());
+        bh.consume(state.atBatIndex());
+        bh.consume(state.currentBallInPlay());
+        bh.consume(state.hitInfo());
+        bh.consume(state.potentialHomer());
+        bh.consume(state.inningOrdinal());
+        bh.consume(state.offenseBatter() + state.onDeck() + state.inTheHole());
+        bh.consume(state.gameAdvisories());
+        for (int i = 0; i < 5; i++) bh.consume(state.currentPlayDescription());
+        for (int i = 0; i < 8; i++) bh.consume(state.home().runs() + state.away().runs());
+        for (int i = 0; i < 6; i++) bh.consume(state.outs());
+        for (int i = 0; i < 4; i++) bh.consume(state.inningState());
+    }
+
+    /**
+     * The same reads as {@link #read(GameState, Blackhole)}, from a snapshot.
+     */
+    private static void read(GameSnapshot state, Blackhole bh) {
+        bh.consume(state.failed());
+        bh.consume(state.abstractState());
+        bh.consume(state.isCancelled() || state.isPostponed() || state.isSuspended());
+        bh.consume(state.atBatIndex());
+        bh.consume(state.currentBallInPlay());
+        bh.consume(state.hitInfo());
+        bh.consume(state.potentialHomer());
+        bh.consume(state.inningOrdinal());
+        bh.consume(state.offense());
+        bh.consume(state.advisories());
+        for (int i = 0; i < 5; i++) bh.consume(state.currentPlayDescription());
+        for (int i = 0; i < 8; i++) bh.consume(state.home().runs() + state.away().runs());
+        for (int i = 0; i < 6; i++) bh.consume(state.outs());
+        for (int i = 0; i < 4; i++) bh.consume(state.inningState());
+    }
+
+    /**
+     * Builds a live feed shaped like statsapi's, with a number of completed plate appearances and one in progress.
+     */
+    static JSONObject feed(int plays) {
+        JSONArray allPlays = new JSONArray();
+        for (int i = 0; i <= plays; i++) {
+            allPlays.put(play(i, i < plays));
+        }
+
+        JSONArray innings = new JSONArray();
+        for (int i = 1; i <= Math.max(1, plays / 8); i++) {
+            innings.put(new JSONObject().put("num", i)
+                .put("away", new JSONObject().put("runs", i % 3).put("hits", 1).put("errors", 0))
+                .put("home", new JSONObject().put("runs", i % 2).put("hits", 1).put("errors", 0)));
+        }
+
+        JSONObject players = new JSONObject();
+        for (int i = 0; i < 26; i++) {
+            players.put("ID" + (600000 + i), new JSONObject()
+                .put("person", person("Player " + i))
+                .put("stats", new JSONObject().put("pitching", new JSONObject().put("note", i == 0 ? "(W, 1-0)" : ""))));
+        }
+
+        return new JSONObject()
+            .put("gamePk", 1)
+            .put("gameData", new JSONObject()
+                .put("game", new JSONObject().put("pk", 1))
+                .put("datetime", new JSONObject().put("dateTime", "2025-06-01T23:05:00Z"))
+                .put("status", new JSONObject().put("abstractGameState", "Live").put("detailedState", "In Progress"))
+                .put("teams", new JSONObject()
+                    .put("away", team(140, "Texas Rangers", "TEX", "Rangers"))
+                    .put("home", team(117, "Houston Astros", "HOU", "Astros")))
+                .put("venue", new JSONObject().put("name", "Daikin Park").put("fieldInfo", new JSONObject().put("capacity", 41000)))
+                .put("weather", new JSONObject().put("condition", "Roof Closed").put("temp", 72).put("wind", "0 mph, None"))
+                .put("gameInfo", new JSONObject().put("attendance", 38000)))
+            .put("liveData", new JSONObject()
+                .put("plays", new JSONObject()
+                    .put("allPlays", allPlays)
+                    .put("currentPlay", allPlays.getJSONObject(plays))
+                    .put("scoringPlays", new JSONArray().put(1).put(5)))
+                .put("linescore", new JSONObject()
+                    .put("currentInning", Math.max(1, plays / 8)).put("currentInningOrdinal", "5th").put("inningState", "Top")
+                    .put("innings", innings)
+                    .put("teams", new JSONObject()
+                        .put("away", new JSONObject().put("runs", 4).put("hits", 8).put("errors", 0).put("leftOnBase", 5))
+                        .put("home", new JSONObject().put("runs", 2).put("hits", 6).put("errors", 1).put("leftOnBase", 3)))
+                    .put("offense", new JSONObject().put("batter", person("Batter")).put("onDeck", person("On Deck")).put("inHole", person("In Hole"))))
+                .put("boxscore", new JSONObject().put("teams", new JSONObject()
+                    .put("away", new JSONObject().put("players", players))
+                    .put("home", new JSONObject().put("players", players)))));
+    }
+
+    private static JSONObject play(int index, boolean complete) {
+        JSONArray events = new JSONArray();
+        int pitches = 3 + index % 4;
+        for (int p = 0; p < pitches; p++) {
+            boolean last = complete && p == pitches - 1;
+            JSONObject details = new JSONObject()
+                .put("description", last ? "In play, out(s)" : "Ball")
+                .put("isInPlay", last)
+                .put("isScoringPlay", false)
+                .put("call", new JSONObject().put("code", "B").put("description", "Ball"));
+            JSONObject event = new JSONObject()
+                .put("isPitch", true)
+                .put("playId", "%08d-0000-0000-0000-%012d".formatted(index, p))
+                .put("details", details)
+                .put("count", new JSONObject().put("balls", p % 4).put("strikes", p % 3).put("outs", 1))
+                .put("pitchData", new JSONObject().put("startSpeed", 94.1).put("endSpeed", 86.3)
+                    .put("coordinates", new JSONObject().put("x", 120.5).put("y", 180.2).put("pX", 0.3).put("pZ", 2.4)));
+            if (last) {
+                event.put("hitData", new JSONObject().put("launchSpeed", 101.2).put("launchAngle", 24.0).put("totalDistance", 380.0)
+                    .put("trajectory", "fly_ball").put("hardness", "hard"));
+            }
+            events.put(event);
+        }
+
+        // Every so often, something happens between pitches
+        if (index % 7 == 3) {
+            events.put(new JSONObject().put("isPitch", false).put("playId", "advisory-" + index)
+                .put("details", new JSONObject().put("event", "Mound Visit").put("eventType", "mound_visit")
+                    .put("description", "Mound visit.").put("awayScore", 1).put("homeScore", 0)));
+        }
+
+        return new JSONObject()
+            .put("about", new JSONObject().put("atBatIndex", index).put("isComplete", complete)
+                .put("inning", 1 + index / 8).put("isTopInning", index % 2 == 0))
+            .put("result", new JSONObject().put("description", "Batter " + index + " flies out to center fielder.")
+                .put("event", "Flyout").put("rbi", 0).put("awayScore", 1).put("homeScore", 0))
+            .put("count", new JSONObject().put("balls", 1).put("strikes", 2).put("outs", 1))
+            .put("matchup", new JSONObject().put("batter", person("Batter " + index)).put("pitcher", person("Pitcher"))
+                .put("postOnFirst", person("Runner")))
+            .put("playEvents", events);
+    }
+
+    private static JSONObject team(int id, String name, String abbreviation, String clubName) {
+        return new JSONObject().put("id", id).put("name", name).put("abbreviation", abbreviation).put("clubName", clubName);
+    }
+
+    private static JSONObject person(String name) {
+        return new JSONObject().put("id", name.hashCode()).put("fullName", name);
+    }
+}
@@ -0,0 +1,108 @@
+package pw.chew.mlb.util;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.geysermc.discordbot.util.DicesCoefficient;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One autocomplete keystroke for a team: {@code index} searches a {@link TeamSearchIndex}, and {@code scan} is the old
+ * way, going over every team twice (prefix, then Dice's coefficient) and de-duplicating afterwards. Both return at most
+ * 25 choices. Queries rotate through prefixes, typos and partial words. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamSearchBenchmark {
+    private static final String[] CITIES = {
+        "New York", "Boston", "Chicago", "Los Angeles", "San Francisco", "Seattle", "Houston", "Atlanta", "Miami",
+        "Toronto", "Detroit", "Cleveland", "Kansas City", "St. Louis", "San Diego", "Pittsburgh", "Cincinnati",
+        "Milwaukee", "Minnesota", "Colorado", "Arizona", "Texas", "Tampa Bay", "Baltimore", "Philadelphia"
+    };
+    private static final String[] MASCOTS = {
+        "Yankees", "Red Sox", "Cubs", "Dodgers", "Giants", "Mariners", "Astros", "Braves", "Marlins", "Blue Jays",
+        "Tigers", "Guardians", "Royals", "Cardinals", "Padres", "Pirates", "Reds", "Brewers", "Twins", "Rockies"
+    };
+    private static final String[] QUERIES = {"new", "new york y", "dodgrs", "sox", "san fran", "kansas", "bravs", "t"};
+
+    /**
+     * How many teams the sport has. MLB has 30, the minor league sports have a few hundred.
+     */
+    @Param({"30", "500"})
+    public int teams;
+
+    private JSONArray raw;
+    private TeamSearchIndex index;
+    private int next;
+
+    @Setup
+    public void setup() {
+        raw = new JSONArray();
+        for (int i = 0; i < teams; i++) {
+            String name = CITIES[i % CITIES.length] + " " + MASCOTS[(i / CITIES.length + i) % MASCOTS.length];
+            raw.put(new JSONObject().put("name", name).put("id", i + 1));
+        }
+        index = TeamSearchIndex.of(raw);
+    }
+
+    @Benchmark
+    public List<Command.Choice> index() {
+        return index.search(query(), 25).stream()
+            .map(team -> new Command.Choice(team.name(), team.id()))
+            .toList();
+    }
+
+    @Benchmark
+    public List<Command.Choice> scan() {
+        return scan(raw, query()).stream().distinct().limit(25).toList();
+    }
+
+    private String query() {
+        next = (next + 1) % QUERIES.length;
+        return QUERIES[next];
+    }
+
+    /**
+     * The search from before {@link TeamSearchIndex}.
+     */
+    private static List<Command.Choice> scan(JSONArray raw, String query) {
+        List<Command.Choice> potential = new ArrayList<>();
+
+        // Search the teams by an exact starting match
+        for (Object teamObj : raw) {
+            JSONObject team = ((JSONObject) teamObj);
+            if (team.getString("name").toLowerCase().startsWith(query.toLowerCase())) {
+                potential.add(new Command.Choice(team.getString("name"), team.getInt("id")));
+            }
+        }
+
+        // Find the best similarity
+        for (Object teamObj : raw) {
+            JSONObject team = ((JSONObject) teamObj);
+            double similar = DicesCoefficient.diceCoefficientOptimized(query.toLowerCase(), team.getString("name").toLowerCase());
+            if (similar > 0.2d) {
+                potential.add(new Command.Choice(team.getString("name"), team.getInt("id")));
+            }
+        }
+
+        return potential;
+    }
+}
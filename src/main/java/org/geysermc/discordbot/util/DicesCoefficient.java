@@ -34,6 +34,10 @@ import java.util.Arrays;
  * 19/01/2021
  */
 public class DicesCoefficient {
+    /**
+     * Per-thread buffers for {@link #rank(String, int[][], double, int)}, so scoring doesn't allocate.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
 
     /**
      * Here's an optimized version of the dice coefficient calculation. It takes
@@ -110,4 +114,120 @@ public class DicesCoefficient {
         }
         return (double)matches/(n+m);
     }
+
+    /**
+     * Gets the sorted bigrams of a string, packed the same way as {@link #diceCoefficientOptimized(String, String)}.
+     * Compute this once per candidate and pass it to {@link #rank(String, int[][], double, int)}.
+     *
+     * @param s The string
+     * @return The sorted bigrams, empty if the string has less than 2 characters
+     */
+    public static int[] bigrams(String s) {
+        if (s == null || s.length() < 2)
+            return new int[0];
+
+        int[] pairs = new int[s.length() - 1];
+        fillBigrams(s, pairs);
+        Arrays.sort(pairs);
+        return pairs;
+    }
+
+    /**
+     * Scores a query against every candidate and ranks the best ones. Only the query's bigrams are computed, into a
+     * per-thread buffer, and the best candidates are kept in per-thread arrays, so the only allocation is the result.
+     *
+     * @param query The query
+     * @param candidates The sorted bigrams of each candidate, from {@link #bigrams(String)}
+     * @param minScore Candidates must score above this to be ranked
+     * @param limit The most indices to return
+     * @return The indices of the best candidates, highest score first. Candidates with the same score keep their order.
+     */
+    public static int[] rank(String query, int[][] candidates, double minScore, int limit) {
+        if (query == null || query.length() < 2 || limit <= 0)
+            return new int[0];
+
+        Scratch scratch = SCRATCH.get();
+        int n = query.length() - 1;
+        int[] pairs = scratch.pairs(n);
+        fillBigrams(query, pairs);
+        Arrays.sort(pairs, 0, n);
+
+        int[] indices = scratch.indices(limit);
+        double[] scores = scratch.scores(limit);
+        int found = 0;
+        for (int c = 0; c < candidates.length; c++) {
+            double score = score(pairs, n, candidates[c]);
+            if (score <= minScore || (found == limit && score <= scores[limit - 1]))
+                continue;
+
+            // Insert in order, dropping the worst if we're full
+            int pos = found < limit ? found++ : limit - 1;
+            while (pos > 0 && scores[pos - 1] < score) {
+                scores[pos] = scores[pos - 1];
+                indices[pos] = indices[pos - 1];
+                pos--;
+            }
+            scores[pos] = score;
+            indices[pos] = c;
+        }
+        return Arrays.copyOf(indices, found);
+    }
+
+    /**
+     * Dice's coefficient of the first {@code n} sorted bigrams of {@code s} and all of {@code t}.
+     */
+    private static double score(int[] s, int n, int[] t) {
+        final int m = t.length;
+        if (n == 0 || m == 0)
+            return 0;
+
+        int matches = 0, i = 0, j = 0;
+        while (i < n && j < m) {
+            if (s[i] == t[j]) {
+                matches += 2;
+                i++;
+                j++;
+            } else if (s[i] < t[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) matches / (n + m);
+    }
+
+    /**
+     * Packs each pair of adjacent characters into one int, unsorted.
+     */
+    private static void fillBigrams(String s, int[] pairs) {
+        for (int i = 0; i < s.length() - 1; i++)
+            pairs[i] = s.charAt(i) << 16 | s.charAt(i + 1);
+    }
+
+    /**
+     * Buffers that grow to the longest query and largest limit seen by a thread.
+     */
+    private static class Scratch {
+        private int[] pairs = new int[32];
+        private int[] indices = new int[25];
+        private double[] scores = new double[25];
+
+        int[] pairs(int size) {
+            if (pairs.length < size)
+                pairs = new int[size];
+            return pairs;
+        }
+
+        int[] indices(int size) {
+            if (indices.length < size)
+                indices = new int[size];
+            return indices;
+        }
+
+        double[] scores(int size) {
+            if (scores.length < size)
+                scores = new double[size];
+            return scores;
+        }
+    }
 }
@@ -16,24 +16,94 @@
  */
 package pw.chew.chewbotcca.util;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.stat.Statistics;
+import org.slf4j.LoggerFactory;
 import pw.chew.mlb.models.Channel;
 import pw.chew.mlb.models.Server;
 
-import java.io.File;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class DatabaseHelper {
     private static SessionFactory sessionFactory;
+    /**
+     * Released once {@link #openConnection()} is done, as Discord events can arrive while it's still connecting.
+     */
+    private static final CountDownLatch opened = new CountDownLatch(1);
+    /**
+     * How long {@link #getSessionFactory()} waits for the connection to be opened.
+     */
+    private static final int OPEN_TIMEOUT_SECONDS = 30;
+    /**
+     * Settings used unless bot.properties sets them: a HikariCP connection pool, and a Caffeine backed second-level
+     * cache for entities marked as cacheable.
+     * <br>
+     * Hibernate's statistics are off, as they're counted on every query. Set {@code hibernate.generate_statistics=true}
+     * to have {@link #stats()} include cache hits and connection counts.
+     */
+    private static final Map<String, String> defaults = Map.ofEntries(
+        Map.entry("hibernate.connection.provider_class", "org.hibernate.hikaricp.internal.HikariCPConnectionProvider"),
+        Map.entry("hibernate.hikari.poolName", "MLBBot"),
+        Map.entry("hibernate.hikari.maximumPoolSize", "10"),
+        Map.entry("hibernate.hikari.minimumIdle", "2"),
+        Map.entry("hibernate.hikari.idleTimeout", "300000"),
+        Map.entry("hibernate.hikari.maxLifetime", "1800000"),
+        Map.entry("hibernate.hikari.registerMbeans", "true"),
+        Map.entry("hibernate.cache.use_second_level_cache", "true"),
+        Map.entry("hibernate.cache.region.factory_class", "jcache"),
+        Map.entry("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+        Map.entry("hibernate.javax.cache.missing_cache_strategy", "create"),
+        Map.entry("hibernate.jdbc.batch_size", "50"),
+        Map.entry("hibernate.order_updates", "true")
+    );
 
+    /**
+     * Opens the connection with the settings in bot.properties.
+     *
+     * @throws IllegalStateException if the connection couldn't be opened
+     */
     public static void openConnection() {
+        open(() -> {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(Path.of("bot.properties"))) {
+                properties.load(reader);
+            }
+            return properties;
+        });
+    }
+
+    /**
+     * Opens the connection with the provided settings instead of bot.properties, e.g. to use an embedded database.
+     *
+     * @param settings the Hibernate settings
+     * @throws IllegalStateException if the connection couldn't be opened
+     */
+    public static void openConnection(Map<String, String> settings) {
+        open(() -> settings);
+    }
+
+    private static void open(Callable<Map<?, ?>> settings) {
         // A SessionFactory is set up once for an application!
-        final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
-            .loadProperties(new File("bot.properties"))
-            .build();
+        StandardServiceRegistry registry = null;
         try {
+            // The provided settings win over the defaults
+            Map<Object, Object> merged = new HashMap<>(defaults);
+            merged.putAll(settings.call());
+            registry = new StandardServiceRegistryBuilder().applySettings(merged).build();
             sessionFactory = new MetadataSources(registry)
                 // MLB Bot - Change to channel
                 .addAnnotatedClass(Channel.class)
@@ -43,12 +113,63 @@ public class DatabaseHelper {
         } catch (Exception e) {
             // The registry would be destroyed by the SessionFactory, but we had trouble building the SessionFactory
             // so destroy it manually.
-            e.printStackTrace();
-            StandardServiceRegistryBuilder.destroy(registry);
+            if (registry != null) StandardServiceRegistryBuilder.destroy(registry);
+            throw new IllegalStateException("Couldn't open the database connection: " + e.getMessage(), e);
+        } finally {
+            // Even if it failed, so nothing waits on it forever
+            opened.countDown();
         }
     }
 
+    /**
+     * Gets the SessionFactory, waiting up to {@value #OPEN_TIMEOUT_SECONDS} seconds for the connection to be opened if
+     * it's still in progress.
+     *
+     * @return the SessionFactory, null if opening it failed or is taking too long
+     */
     public static SessionFactory getSessionFactory() {
+        try {
+            if (!opened.await(OPEN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LoggerFactory.getLogger(DatabaseHelper.class).warn("Gave up waiting for the database connection to open");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         return sessionFactory;
     }
+
+    /**
+     * Summarizes the connection pool and the second-level cache.
+     *
+     * @return a friendly summary
+     */
+    public static String stats() {
+        SessionFactory factory = getSessionFactory();
+        if (factory == null) {
+            return "Not connected";
+        }
+
+        StringBuilder stats = new StringBuilder();
+        ConnectionProvider provider = factory.getSessionFactoryOptions().getServiceRegistry().getService(ConnectionProvider.class);
+        if (provider != null && provider.isUnwrappableAs(HikariDataSource.class)) {
+            HikariPoolMXBean pool = provider.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            if (pool != null) {
+                stats.append("Pool: %s active, %s idle, %s total, %s waiting\n".formatted(
+                    pool.getActiveConnections(), pool.getIdleConnections(), pool.getTotalConnections(), pool.getThreadsAwaitingConnection()
+                ));
+            }
+        }
+
+        Statistics statistics = factory.getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            stats.append("Entity cache: %s hits, %s misses\n".formatted(
+                statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()
+            ));
+            stats.append("Connections: %s obtained, %s transactions\n".formatted(
+                statistics.getConnectCount(), statistics.getTransactionCount()
+            ));
+        }
+
+        return stats.isEmpty() ? "No stats" : stats.toString();
+    }
 }
\ No newline at end of file
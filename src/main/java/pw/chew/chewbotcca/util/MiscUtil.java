@@ -110,7 +110,7 @@ public class MiscUtil {
             i = Math.floor(Math.log(bytes) / Math.log(k));
         }
         DecimalFormat df = new DecimalFormat("#.##");
-        return df.format(bytes / Math.pow(k, i)) + " " + measure[(int) i + 1];
+        return df.format(bytes / Math.pow(k, i)) + " " + measure[(int) i];
     }
 
     /**
@@ -16,18 +16,34 @@
  */
 package pw.chew.chewbotcca.util;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Off brand RestClient based on the ruby gem of the same name
@@ -38,15 +54,61 @@ public class RestClient {
         .followRedirects(HttpClient.Redirect.NORMAL)
         .build();
     private static final Duration timeout = Duration.ofSeconds(30);
+    /**
+     * Threads to read streamed bodies on, see {@link #streamAsync(String, BodyReader, String...)}.
+     */
+    private static final ExecutorService bodyReaders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "RestClient-Reader");
+        thread.setDaemon(true);
+        return thread;
+    });
     private static final boolean debug = true;
 
     /// CACHING ///
-    public static final Cache<URI, Response> requests = Caffeine.newBuilder()
-        .maximumSize(10_000)
-//        .refreshAfterWrite(Duration.ofSeconds(10))
-        .expireAfterWrite(Duration.ofSeconds(10))
+    /**
+     * Responses by URI, including requests still in flight, so concurrent callers share one request.
+     * Failed requests are dropped from the cache automatically.
+     * <br>
+     * The cache is capped by the size of the responses rather than their count, and each response lives as long as
+     * its {@link Endpoint} allows.
+     */
+    public static final AsyncCache<URI, Response> requests = Caffeine.newBuilder()
+        .maximumWeight(32L * 1024 * 1024)
+        .weigher((URI uri, Response response) -> uri.toString().length() + response.response().length())
+        .expireAfter(new Expiry<URI, Response>() {
+            @Override
+            public long expireAfterCreate(URI uri, Response response, long currentTime) {
+                return Endpoint.of(uri).ttl(response).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(URI uri, Response response, long currentTime, long currentDuration) {
+                return Endpoint.of(uri).ttl(response).toNanos();
+            }
+
+            @Override
+            public long expireAfterRead(URI uri, Response response, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        })
+        .buildAsync();
+    /**
+     * The last successful response for each URI that came with an ETag or Last-Modified header.
+     * Once a response expires from {@link #requests}, these are used to ask the server whether it changed.
+     */
+    private static final Cache<URI, Validated> validators = Caffeine.newBuilder()
+        .maximumWeight(64L * 1024 * 1024)
+        .weigher((URI uri, Validated validated) -> validated.response().response().length())
+        .expireAfterWrite(Duration.ofHours(1))
         .build();
 
+    /// STATS ///
+    private static final LongAdder fetched = new LongAdder();
+    private static final LongAdder wireBytes = new LongAdder();
+    private static final LongAdder bytesSaved = new LongAdder();
+    private static final LongAdder revalidations = new LongAdder();
+    private static final LongAdder notModified = new LongAdder();
+
     /**
      * Make a GET request
      *
@@ -57,9 +119,80 @@ public class RestClient {
      * @return a String response
      */
     public static Response get(String url, String ...headers) {
+        HttpRequest request = buildGet(url, headers);
+
+        if (debug) LoggerFactory.getLogger(RestClient.class).debug("Making call to GET {}", url.split("\\?")[0]);
+        return performRequest(request);
+    }
+
+    /**
+     * Make a GET request without blocking the calling thread
+     *
+     * @param url the url to get
+     * @param headers Optional set of headers as "Header: Value" like "Authorization: Bearer bob"
+     * @throws IllegalArgumentException If an invalid header is passed
+     * @return a future that completes with the response, or completes exceptionally if the request fails
+     */
+    public static CompletableFuture<Response> getAsync(String url, String ...headers) {
+        HttpRequest request = buildGet(url, headers);
+
+        if (debug) LoggerFactory.getLogger(RestClient.class).debug("Making async call to GET {}", url.split("\\?")[0]);
+        return performRequestAsync(request);
+    }
+
+    /**
+     * Make a GET request and read the body as it arrives, instead of buffering it into a String first.
+     * These responses are not cached.
+     *
+     * @param url the url to get
+     * @param reader reads the body. The stream is closed once this returns.
+     * @param headers Optional set of headers as "Header: Value" like "Authorization: Bearer bob"
+     * @param <T> what the reader produces
+     * @throws IllegalArgumentException If an invalid header is passed
+     * @throws RuntimeException If the request fails
+     * @return whatever the reader returned
+     */
+    public static <T> T stream(String url, BodyReader<T> reader, String ...headers) {
+        return join(streamAsync(url, reader, headers));
+    }
+
+    /**
+     * Make a GET request and read the body as it arrives, without blocking the calling thread.
+     * The body is read on a separate pool of threads, since reading it blocks until it has fully arrived.
+     *
+     * @param url the url to get
+     * @param reader reads the body. The stream is closed once this returns.
+     * @param headers Optional set of headers as "Header: Value" like "Authorization: Bearer bob"
+     * @param <T> what the reader produces
+     * @throws IllegalArgumentException If an invalid header is passed
+     * @return a future that completes with whatever the reader returned, or completes exceptionally if the request fails
+     */
+    public static <T> CompletableFuture<T> streamAsync(String url, BodyReader<T> reader, String ...headers) {
+        HttpRequest request = buildGet(url, headers);
+
+        if (debug) LoggerFactory.getLogger(RestClient.class).debug("Making streamed call to GET {}", url.split("\\?")[0]);
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+            .thenApplyAsync(response -> {
+                try (InputStream body = decode(response.body(), contentEncoding(response))) {
+                    return reader.read(response.statusCode(), body);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, bodyReaders);
+    }
+
+    /**
+     * Builds a GET request with our User-Agent and the provided headers
+     *
+     * @param url the url to get
+     * @param headers set of headers as "Header: Value"
+     * @return the request
+     */
+    private static HttpRequest buildGet(String url, String ...headers) {
         String userAgent = "MLB Bot/1.0 (JDA; +https://mlb.chew.pw/)";
         HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
             .header("User-Agent", userAgent)
+            .header("Accept-Encoding", "gzip, deflate")
             .timeout(timeout);
 
         for (String header : headers) {
@@ -70,35 +203,313 @@ public class RestClient {
             request.header(details[0].trim(), details[1].trim());
         }
 
-        if (debug) LoggerFactory.getLogger(RestClient.class).debug("Making call to GET {}", url.split("\\?")[0]);
-        return performRequest(request.build());
+        return request.build();
     }
 
     /**
-     * Actually perform the request
+     * Actually perform the request.
+     * Concurrent calls for the same URI share a single in-flight request, and its response is cached briefly.
+     * <br>
+     * If we've seen this URI before with an ETag or Last-Modified header, the request is made conditional. When the
+     * server says nothing changed (304), the exact same Response as last time is returned.
+     *
      * @param request a request
+     * @throws RuntimeException If the request fails
      * @return a response
      */
     public static Response performRequest(HttpRequest request) {
-        if (requests.getIfPresent(request.uri()) != null) {
+        return join(performRequestAsync(request));
+    }
+
+    /**
+     * Actually perform the request, without blocking the calling thread.
+     * See {@link #performRequest(HttpRequest)} for how responses are shared and cached.
+     *
+     * @param request a request
+     * @return a future that completes with the response, or completes exceptionally if the request fails
+     */
+    public static CompletableFuture<Response> performRequestAsync(HttpRequest request) {
+        if (debug && requests.getIfPresent(request.uri()) != null) {
             LoggerFactory.getLogger(RestClient.class).debug("Received response from cache");
-            return requests.getIfPresent(request.uri());
         }
 
+        Endpoint endpoint = Endpoint.of(request.uri());
+        endpoint.requests.increment();
+        return requests.get(request.uri(), (uri, executor) -> {
+            endpoint.misses.increment();
+            return fetch(request);
+        });
+    }
+
+    /**
+     * Waits for a future, rethrowing failures as a plain RuntimeException like the blocking methods always have.
+     *
+     * @param future the future
+     * @param <T> the result type
+     * @return the result
+     */
+    private static <T> T join(CompletableFuture<T> future) {
         try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            int code = response.statusCode();
-            String body = response.body();
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow exceptions as runtime
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            throw new RuntimeException(cause.getMessage());
+        }
+    }
+
+    /**
+     * Sends the request, conditionally if possible. Only called on a cache miss.
+     *
+     * @param request a request
+     * @return the response once it arrives
+     */
+    private static CompletableFuture<Response> fetch(HttpRequest request) {
+        Validated validated = validators.getIfPresent(request.uri());
+        HttpRequest toSend = request;
+        if (validated != null) {
+            HttpRequest.Builder conditional = HttpRequest.newBuilder(request, (name, value) -> true);
+            if (validated.etag() != null) conditional.header("If-None-Match", validated.etag());
+            if (validated.lastModified() != null) conditional.header("If-Modified-Since", validated.lastModified());
+            toSend = conditional.build();
+            revalidations.increment();
+        }
+
+        return client.sendAsync(toSend, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> {
+                try {
+                    return read(request.uri(), response, validated);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * Turns an HTTP response into a Response, decompressing it and remembering its validators.
+     *
+     * @param uri the requested URI
+     * @param response the HTTP response
+     * @param validated what we revalidated with, if anything
+     * @return the response
+     * @throws IOException if the body can't be decompressed
+     */
+    private static Response read(URI uri, HttpResponse<byte[]> response, Validated validated) throws IOException {
+        int code = response.statusCode();
+        fetched.increment();
+
+        if (code == 304 && validated != null) {
             if (debug) {
-                LoggerFactory.getLogger(RestClient.class).debug("Received uncached response");
+                LoggerFactory.getLogger(RestClient.class).debug("Response not modified, reusing it");
             }
-            Response res = new Response(code, body);
-            requests.put(request.uri(), res);
-            return res;
-        } catch (IOException | InterruptedException e) {
-            // Rethrow exceptions as runtime
-            throw new RuntimeException(e.getMessage());
+            notModified.increment();
+            bytesSaved.add(validated.response().response().length());
+            return validated.response();
+        }
+
+        byte[] raw = response.body();
+        String encoding = contentEncoding(response);
+        byte[] decoded;
+        try (InputStream body = decode(new ByteArrayInputStream(raw), encoding)) {
+            decoded = body.readAllBytes();
+        }
+        wireBytes.add(raw.length);
+        bytesSaved.add(Math.max(0, decoded.length - raw.length));
+
+        if (debug) {
+            LoggerFactory.getLogger(RestClient.class).debug("Received uncached response");
         }
+        Response res = new Response(code, new String(decoded, StandardCharsets.UTF_8));
+
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        if (res.success() && (etag != null || lastModified != null)) {
+            validators.put(uri, new Validated(res, etag, lastModified));
+        }
+
+        return res;
+    }
+
+    /**
+     * Wraps a body so it's read decompressed, according to its Content-Encoding.
+     *
+     * @param body the body as sent
+     * @param encoding the Content-Encoding, empty if none
+     * @return the decompressed body
+     * @throws IOException if the body isn't validly compressed
+     */
+    private static InputStream decode(InputStream body, String encoding) throws IOException {
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body);
+            case "deflate" -> inflate(body);
+            default -> body;
+        };
+    }
+
+    /**
+     * Wraps a deflate body. "deflate" is meant to be zlib wrapped, but some servers send it raw, so the first two bytes
+     * are checked for a zlib header.
+     *
+     * @param body the body as sent
+     * @return the inflated body
+     * @throws IOException if the body can't be read
+     */
+    private static InputStream inflate(InputStream body) throws IOException {
+        PushbackInputStream stream = new PushbackInputStream(body, 2);
+        byte[] header = stream.readNBytes(2);
+        stream.unread(header);
+
+        boolean zlib = header.length == 2 && (header[0] & 0x0F) == 8 && (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+        return new InflaterInputStream(stream, new Inflater(!zlib));
+    }
+
+    private static String contentEncoding(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Summarizes how much conditional requests and compression are saving.
+     *
+     * @return a friendly summary
+     */
+    public static String stats() {
+        long checked = revalidations.sum();
+        StringBuilder stats = new StringBuilder("""
+            Fetched: %s (%s over the wire)
+            Saved: %s
+            304 hit rate: %s / %s (%s%%)
+            Cached: %s (%s)
+            """.formatted(
+            fetched.sum(), MiscUtil.bytesToFriendly(wireBytes.sum()),
+            MiscUtil.bytesToFriendly(bytesSaved.sum()),
+            notModified.sum(), checked, checked == 0 ? 0 : notModified.sum() * 100 / checked,
+            requests.synchronous().estimatedSize(), MiscUtil.bytesToFriendly(cachedBytes())
+        ));
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            long total = endpoint.requests.sum();
+            if (total == 0) continue;
+            long hits = total - endpoint.misses.sum();
+            stats.append("%s: %s hits, %s misses\n".formatted(endpoint.friendlyName, hits, total - hits));
+        }
+
+        return stats.toString();
+    }
+
+    /**
+     * The approximate size of every cached response.
+     *
+     * @return the weight of {@link #requests}
+     */
+    private static long cachedBytes() {
+        return requests.synchronous().policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0))
+            .orElse(0L);
+    }
+
+    /**
+     * The kinds of endpoints we call, which decide how long their responses are cached.
+     */
+    public enum Endpoint {
+        /**
+         * Live feeds and their diff patches. Games are polled every few seconds, so a poll must never be served a
+         * response cached by the previous one. This is only long enough to share a request between concurrent callers.
+         */
+        LIVE_FEED("Live feed", Duration.ofSeconds(2)),
+        /**
+         * Schedules, which change as games start and end.
+         */
+        SCHEDULE("Schedule", Duration.ofMinutes(1)),
+        /**
+         * Teams and sports, which barely change during a season.
+         */
+        REFERENCE("Teams/sports", Duration.ofHours(6)),
+        /**
+         * Standings, which change when games end.
+         */
+        STANDINGS("Standings", Duration.ofMinutes(5)),
+        /**
+         * Baseball Savant's "would it be a homer" data, which fills in shortly after the hit. Lookups are retried
+         * until it does, so a retry must not get the previous attempt's response.
+         */
+        X_PARKS("x-parks", Duration.ofSeconds(5)),
+        /**
+         * Everything else.
+         */
+        OTHER("Other", Duration.ofSeconds(10));
+
+        /**
+         * The longest an unsuccessful response is cached, no matter the endpoint.
+         */
+        private static final Duration FAILURE_TTL = Duration.ofSeconds(5);
+
+        private final String friendlyName;
+        private final Duration ttl;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        Endpoint(String friendlyName, Duration ttl) {
+            this.friendlyName = friendlyName;
+            this.ttl = ttl;
+        }
+
+        /**
+         * Works out which kind of endpoint a URI is.
+         *
+         * @param uri the URI
+         * @return the endpoint
+         */
+        public static Endpoint of(URI uri) {
+            String path = uri.getPath() == null ? "" : uri.getPath();
+            String query = uri.getRawQuery() == null ? "" : uri.getRawQuery();
+
+            if (path.contains("/feed/live")) return LIVE_FEED;
+            if (path.contains("/x-parks/")) return X_PARKS;
+            if (path.endsWith("/schedule") || query.contains("nextSchedule")) return SCHEDULE;
+            if (path.endsWith("/standings")) return STANDINGS;
+            if (path.contains("/teams") || path.endsWith("/sports")) return REFERENCE;
+            return OTHER;
+        }
+
+        /**
+         * How long to cache a response from this endpoint.
+         *
+         * @param response the response
+         * @return how long to keep it
+         */
+        public Duration ttl(Response response) {
+            if (!response.success() && ttl.compareTo(FAILURE_TTL) > 0) {
+                return FAILURE_TTL;
+            }
+            return ttl;
+        }
+    }
+
+    /**
+     * A response we can revalidate with the server
+     *
+     * @param response the response
+     * @param etag its ETag, if any
+     * @param lastModified its Last-Modified date, if any
+     */
+    private record Validated(Response response, String etag, String lastModified) {}
+
+    /**
+     * Reads a streamed response body
+     *
+     * @param <T> what the body is read into
+     */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        /**
+         * Reads the body
+         *
+         * @param code the HTTP status code
+         * @param body the body, read as it arrives
+         * @return the result
+         * @throws IOException if reading fails
+         */
+        T read(int code, InputStream body) throws IOException;
     }
 
     /**
@@ -12,7 +12,6 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pw.chew.chewbotcca.util.DatabaseHelper;
-import pw.chew.chewbotcca.util.RestClient;
 import pw.chew.mlb.commands.AdminCommand;
 import pw.chew.mlb.commands.ConfigCommand;
 import pw.chew.mlb.commands.GameInfoCommand;
@@ -22,11 +21,14 @@ import pw.chew.mlb.commands.SetInfoCommand;
 import pw.chew.mlb.commands.StandingsCommand;
 import pw.chew.mlb.commands.StartGameCommand;
 import pw.chew.mlb.commands.StopGameCommand;
+import pw.chew.mlb.listeners.GameFeedHandler;
 import pw.chew.mlb.listeners.InteractionHandler;
 import pw.chew.mlb.listeners.JDAListeners;
+import pw.chew.mlb.util.ReferenceData;
+import pw.chew.mlb.util.Startup;
 import pw.chew.mlb.util.TeamEmoji;
+import pw.chew.mlb.util.TodaySlate;
 
-import javax.security.auth.login.LoginException;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -46,11 +48,6 @@ public class MLBBot {
         Properties prop = new Properties();
         prop.load(new FileInputStream("bot.properties"));
 
-        // Initialize Database for storage
-        logger.info("Connecting to database...");
-        DatabaseHelper.openConnection();
-        logger.info("Connected!");
-
         // Initialize the waiter and client
         CommandClientBuilder client = new CommandClientBuilder();
 
@@ -75,25 +72,43 @@ public class MLBBot {
         // Finalize the command client
         CommandClient commandClient = client.build();
 
-        // Register JDA
-        jda = JDABuilder.createDefault(prop.getProperty("token"))
-            .setStatus(OnlineStatus.ONLINE)
-            .enableCache(CacheFlag.SCHEDULED_EVENTS)
-            .setActivity(Activity.playing("Booting..."))
-            .addEventListeners(
-                waiter, commandClient // JDA-Chewtils stuff
-                , new JDAListeners()
-                , new InteractionHandler()
-            ).build();
+        boolean started = new Startup()
+            // Initialize Database for storage
+            .stage("database", DatabaseHelper::openConnection)
+            // Load teams, from disk if we have them
+            .stage("teams", MLBBot::loadTeams)
+            // Have today's games ready for autocomplete
+            .stage("today's slate", () -> TodaySlate.start("1"))
+            // Register JDA
+            .stage("jda", () -> jda = JDABuilder.createDefault(prop.getProperty("token"))
+                .setStatus(OnlineStatus.ONLINE)
+                .enableCache(CacheFlag.SCHEDULED_EVENTS)
+                .setActivity(Activity.playing("Booting..."))
+                .addEventListeners(
+                    waiter, commandClient // JDA-Chewtils stuff
+                    , new JDAListeners()
+                    , new InteractionHandler()
+                ).build())
+            // Load Emoji, only needs us to be logged in
+            .stage("emoji", () -> TeamEmoji.setupEmoji(jda), "jda")
+            .stage("ready", () -> jda.awaitReady(), "jda")
+            // Everything a game needs to post has to be ready before games resume
+            .stage("resume games", GameFeedHandler::resumeGames, "database", "teams", "emoji", "ready")
+            .await();
+
+        // Don't stay online half started, e.g. without a database
+        if (!started) {
+            logger.error("Startup failed, shutting down");
+            if (jda != null) jda.shutdownNow();
+            System.exit(1);
+        }
+    }
 
-        // Load teams
-        JSONObject teams = RestClient.get("https://statsapi.mlb.com/api/v1/teams?sportIds=1&season=" + SEASON).asJSONObject();
+    private static void loadTeams() {
+        JSONObject teams = ReferenceData.get("https://statsapi.mlb.com/api/v1/teams?sportIds=1&season=" + SEASON);
 
         for (int i = 0; i < teams.getJSONArray("teams").length(); i++) {
             TEAMS.add(teams.getJSONArray("teams").getJSONObject(i));
         }
-
-        // Load Emoji
-        TeamEmoji.setupEmoji(jda);
     }
 }
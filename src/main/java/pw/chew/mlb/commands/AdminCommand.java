@@ -9,9 +9,12 @@ import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
 import net.dv8tion.jda.api.exceptions.PermissionException;
 import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.DatabaseHelper;
+import pw.chew.chewbotcca.util.RestClient;
 import pw.chew.mlb.MLBBot;
 import pw.chew.mlb.listeners.GameFeedHandler;
 import pw.chew.mlb.objects.ActiveGame;
+import pw.chew.mlb.objects.LiveFeed;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -121,7 +124,7 @@ public class AdminCommand extends Command {
     public void botStats(CommandEvent event) {
         long serverCount = event.getJDA().getGuilds().size();
         long activeGames = GameFeedHandler.allGames().size();
-        long activeThreads = GameFeedHandler.GAME_THREADS.size();
+        long polledGames = GameFeedHandler.GAME_POLLER.size();
 
         // Store a list that can only have unique items
         List<String> activeServers = new ArrayList<>();
@@ -138,8 +141,13 @@ public class AdminCommand extends Command {
             .setTitle("Bot Stats")
             .addField("Servers", String.valueOf(serverCount), true)
             .addField("Active Games", String.valueOf(activeGames), true)
-            .addField("Active Threads", String.valueOf(activeThreads), true)
+            .addField("Polled Games", String.valueOf(polledGames), true)
+            .addField("Poller Threads", String.valueOf(GameFeedHandler.GAME_POLLER.threads()), true)
             .addField("Active Servers", String.valueOf(activeServers.size()), true)
+            .addField("Live Feed", LiveFeed.stats(), false)
+            .addField("Outbound", GameFeedHandler.OUTBOUND.stats(), false)
+            .addField("HTTP", RestClient.stats(), false)
+            .addField("Database", DatabaseHelper.stats(), false)
             ;
 
         event.reply(embed.build());
@@ -149,7 +157,7 @@ public class AdminCommand extends Command {
         if (event.getArgs().contains("--now")) {
             event.getChannel().sendMessage("Bye bye!").queue(m -> shutdown());
         } else {
-            if (GameFeedHandler.GAME_THREADS.isEmpty()) {
+            if (GameFeedHandler.GAME_POLLER.size() == 0) {
                 event.getChannel().sendMessage("Bye bye!").queue(m -> shutdown());
             } else {
                 GameFeedHandler.shutdownOnFinish = true;
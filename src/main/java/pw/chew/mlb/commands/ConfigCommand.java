@@ -12,6 +12,7 @@ import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.internal.utils.Checks;
+import pw.chew.mlb.listeners.GameFeedHandler;
 import pw.chew.mlb.models.Channel;
 import pw.chew.mlb.models.Server;
 import pw.chew.mlb.objects.ChannelConfig;
@@ -78,6 +79,7 @@ public class ConfigCommand extends SlashCommand {
             //current.update("showScoreOnOut3", event.optBoolean("show_score_on_out_3", current.showScoreOnOut3()));
 
             current.saveData();
+            GameFeedHandler.updateProfile(current);
 
             event.reply("Configuration updated!").setEphemeral(true).queue();
         }
@@ -8,6 +8,7 @@ import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInterac
 import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
 import net.dv8tion.jda.api.interactions.InteractionContextType;
+import net.dv8tion.jda.api.interactions.InteractionHook;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.interactions.components.ActionRow;
@@ -17,8 +18,10 @@ import net.dv8tion.jda.api.interactions.components.selections.StringSelectMenu;
 import net.dv8tion.jda.internal.utils.Checks;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.slf4j.LoggerFactory;
 import pw.chew.chewbotcca.util.MiscUtil;
 import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.objects.GameSnapshot;
 import pw.chew.mlb.objects.GameState;
 import pw.chew.mlb.objects.ImageUtil;
 import pw.chew.mlb.util.AutocompleteUtil;
@@ -33,6 +36,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * A command to get information about a specific game
@@ -53,30 +58,36 @@ public class GameInfoCommand extends SlashCommand {
     @Override
     protected void execute(SlashCommandEvent event) {
         String gamePk = event.optString("game", "");
-        GameState info = GameState.fromPk(gamePk);
-        if (info.failed()) {
-            event.replyEmbeds(EmbedUtil.failure("Failed to get game info")).setEphemeral(true).queue();
-            return;
-        }
+        event.deferReply(true).queue(hook -> GameSnapshot.fromPkAsync(gamePk).whenComplete((info, error) -> {
+            if (error != null) {
+                LoggerFactory.getLogger(GameInfoCommand.class).error("Failed to show game info for {}", gamePk, error);
+                hook.editOriginalEmbeds(EmbedUtil.failure(error)).queue();
+                return;
+            }
+            if (info.failed()) {
+                hook.editOriginalEmbeds(EmbedUtil.failure("Failed to get game info")).queue();
+                return;
+            }
 
-        event.replyEmbeds(buildGameInfoEmbed(info))
-            .setComponents(buildActionRows(info))
-            .setEphemeral(true).queue();
+            hook.editOriginalEmbeds(buildGameInfoEmbed(info))
+                .setComponents(buildActionRows(info))
+                .queue();
+        }));
     }
 
     @Override
     public void onAutoComplete(CommandAutoCompleteInteractionEvent event) {
-        event.replyChoices(AutocompleteUtil.getTodayGames(true)).queue();
+        AutocompleteUtil.replyWhenReady(event, AutocompleteUtil.getTodayGames(true));
     }
 
     /**
      * Builds an embed for the game info.
-     * Doesn't include ActionRows, use {@link #buildActionRows(GameState)}.
+     * Doesn't include ActionRows, use {@link #buildActionRows(GameSnapshot)}.
      *
      * @param info the game info to build the embed for
      * @return the embed
      */
-    public static MessageEmbed buildGameInfoEmbed(GameState info) {
+    public static MessageEmbed buildGameInfoEmbed(GameSnapshot info) {
         if (info.failed()) {
             return EmbedUtil.failure("Failed to get game info");
         }
@@ -97,13 +108,13 @@ public class GameInfoCommand extends SlashCommand {
      * @param info the game info to build buttons for
      * @return the buttons
      */
-    public static List<ActionRow> buildActionRows(GameState info) {
+    public static List<ActionRow> buildActionRows(GameSnapshot info) {
         String[] homeOrAway = {"away", "home"};
         StringSelectMenu away = null;
         StringSelectMenu home = null;
 
         for (String homeAway : homeOrAway) {
-            GameState.TeamInfo team = homeAway.equals("away") ? info.away() : info.home();
+            GameSnapshot.Team team = homeAway.equals("away") ? info.away() : info.home();
 
             StringSelectMenu.Builder menu = StringSelectMenu.create("gameinfo:select:%s:%s".formatted(info.gamePk(), homeAway))
                 .setPlaceholder("Select %s Info".formatted(team.clubName()))
@@ -154,7 +165,7 @@ public class GameInfoCommand extends SlashCommand {
         // Determine what the user clicked
         String action = event.getSelectedOptions().get(0).getValue();
         switch (action) {
-            case "lineup" -> event.reply(buildLineup(gamePk, team, teamName)).setEphemeral(true).queue();
+            case "lineup" -> buildLineup(gamePk, team, teamName, event);
             case "scoring_plays" -> buildScoringPlays(gamePk, team, event);
             case "boxscore" -> buildBoxScore(gamePk, team, "batters", event);
         }
@@ -168,12 +179,29 @@ public class GameInfoCommand extends SlashCommand {
      * @param event the event to reply to
      */
     public static void buildScoringPlays(String gamePk, String team, GenericComponentInteractionCreateEvent event) {
-        GameState gameInfo = GameState.fromPk(gamePk);
-        if (gameInfo.failed()) {
-            event.replyEmbeds(EmbedUtil.failure("Failed to get game info. Please try again later.")).setEphemeral(true).queue();
-            return;
-        }
+        defer(event, hook -> GameState.fromPkAsync(gamePk).thenAccept(gameInfo -> {
+            if (gameInfo.failed()) {
+                fail(event, hook, "Failed to get game info. Please try again later.");
+                return;
+            }
 
+            hook.editOriginalEmbeds(buildScoringPlays(gameInfo, team))
+                .setActionRow(Button.secondary("gameinfo:scoring_plays:%s:%s".formatted(gamePk, team), "Refresh").withDisabled(gameInfo.isFinal()))
+                .queue();
+        }).exceptionally(e -> {
+            fail(event, hook, "Failed to get game info. Please try again later.");
+            return null;
+        }));
+    }
+
+    /**
+     * Builds the scoring plays embed from a game state
+     *
+     * @param gameInfo the game state
+     * @param team the team to get the scoring plays for, 'away' or 'home'
+     * @return the embed
+     */
+    private static MessageEmbed buildScoringPlays(GameState gameInfo, String team) {
         Map<String, List<String>> inningMap = new HashMap<>();
         GameState.TeamInfo selectedTeam = team.equals("home") ? gameInfo.home() : gameInfo.away();
         String inningState = team.equals("home") ? "Bottom" : "Top";
@@ -211,14 +239,7 @@ public class GameInfoCommand extends SlashCommand {
             embed.setDescription("No scoring plays for this team.");
         }
 
-        Button refreshButton = Button.secondary("gameinfo:scoring_plays:%s:%s".formatted(gamePk, team), "Refresh").withDisabled(gameInfo.isFinal());
-
-        // send the message, if the initial button is pressed
-        if (event instanceof StringSelectInteractionEvent) {
-            event.replyEmbeds(embed.build()).addActionRow(refreshButton).setEphemeral(true).queue();
-        } else { // edit it if they're just clicking through
-            event.editMessageEmbeds(embed.build()).queue();
-        }
+        return embed.build();
     }
 
     /**
@@ -227,11 +248,27 @@ public class GameInfoCommand extends SlashCommand {
      * @param gamePk the gamePk to get the lineup for
      * @param awayOrHome the team to get the lineup for, 'away' or 'home'
      * @param teamName the name of the team
-     * @return the lineup as a string
+     * @param event the event to reply to
      */
-    public static String buildLineup(String gamePk, String awayOrHome, String teamName) {
-        var lineup = MLBAPIUtil.getLineup(gamePk, awayOrHome);
+    public static void buildLineup(String gamePk, String awayOrHome, String teamName, GenericComponentInteractionCreateEvent event) {
+        event.deferReply(true).queue(hook -> MLBAPIUtil.getLineup(gamePk, awayOrHome).whenComplete((lineup, error) -> {
+            if (error != null) {
+                hook.editOriginalEmbeds(EmbedUtil.failure("Failed to get the lineup. Please try again later.")).queue();
+                return;
+            }
 
+            hook.editOriginal(buildLineup(lineup, teamName)).queue();
+        }));
+    }
+
+    /**
+     * Builds a lineup for a team
+     *
+     * @param lineup the lineup, from {@link MLBAPIUtil#getLineup(String, String)}
+     * @param teamName the name of the team
+     * @return the lineup as a string
+     */
+    private static String buildLineup(Map<String, List<MLBAPIUtil.Player>> lineup, String teamName) {
         List<String> friendly = new ArrayList<>();
 
         friendly.add("# " + teamName + " Lineup");
@@ -271,16 +308,37 @@ public class GameInfoCommand extends SlashCommand {
      * @param event the event to reply to
      */
     public static void buildBoxScore(String gamePk, String homeOrAway, String type, GenericComponentInteractionCreateEvent event) {
-        // get game info
-        GameState info = GameState.fromPk(gamePk);
-        if (info.failed()) {
-            event.replyEmbeds(EmbedUtil.failure("Failed to get game info")).queue();
-            return;
-        }
+        // get game info and box score data at the same time
+        CompletableFuture<GameSnapshot> info = GameSnapshot.fromPkAsync(gamePk);
+        CompletableFuture<RestClient.Response> boxScore = RestClient.getAsync("https://api.chew.pro/sports/mlb/%s/boxscore".formatted(gamePk));
+
+        defer(event, hook -> info.thenAcceptBoth(boxScore, (snapshot, data) -> {
+            if (snapshot.failed()) {
+                fail(event, hook, "Failed to get game info");
+                return;
+            }
 
-        // get box score data
-        JSONObject data = RestClient.get("https://api.chew.pro/sports/mlb/%s/boxscore".formatted(gamePk)).asJSONObject();
-        GameState.TeamInfo team = homeOrAway.equals("home") ? info.home() : info.away();
+            buildBoxScore(gamePk, homeOrAway, type, snapshot, data.asJSONObject(), event, hook);
+        }).exceptionally(e -> {
+            fail(event, hook, "Failed to get box score");
+            return null;
+        }));
+    }
+
+    /**
+     * Sends the box score once its data is in
+     *
+     * @param gamePk the gamePk to get the box score for
+     * @param homeOrAway the team to get the box score for, 'home' or 'away'
+     * @param type the type of box score to get, 'batters', 'pitchers', 'bench', 'bullpen', or 'info'
+     * @param info the game info
+     * @param data the box score data
+     * @param event the event being replied to
+     * @param hook the deferred reply or edit
+     */
+    private static void buildBoxScore(String gamePk, String homeOrAway, String type, GameSnapshot info, JSONObject data,
+                                      GenericComponentInteractionCreateEvent event, InteractionHook hook) {
+        GameSnapshot.Team team = homeOrAway.equals("home") ? info.home() : info.away();
 
         String title = """
             # Box Score for %s @ %s
@@ -331,13 +389,7 @@ public class GameInfoCommand extends SlashCommand {
                 }
             }
 
-            // send the message, if the initial button is pressed
-            if (event instanceof StringSelectInteractionEvent) {
-                event.reply(String.join("\n", infoResponse)).addComponents(row).setEphemeral(true).queue();
-            } else { // edit it if they're just clicking through
-                event.editMessage(String.join("\n", infoResponse)).setFiles(Collections.emptyList()).setComponents(row).queue();
-            }
-
+            hook.editOriginal(String.join("\n", infoResponse)).setFiles(Collections.emptyList()).setComponents(row).queue();
             return;
         }
 
@@ -358,15 +410,40 @@ public class GameInfoCommand extends SlashCommand {
         // create the image
         ImageUtil.GeneratedImage image = ImageUtil.createTable(values, set);
         if (image.failed()) {
-            event.replyEmbeds(EmbedUtil.failure("Failed to create box score image")).queue();
+            fail(event, hook, "Failed to create box score image");
             return;
         }
 
-        // send the message, if the initial button is pressed
+        hook.editOriginal(title).setComponents(row).setFiles(image.asFileUpload()).queue();
+    }
+
+    /**
+     * Acknowledges a component interaction before its data is fetched.
+     * The first pick from a select menu gets a new ephemeral reply, clicking through edits the message in place.
+     *
+     * @param event the event to acknowledge
+     * @param then what to do with the hook once acknowledged
+     */
+    private static void defer(GenericComponentInteractionCreateEvent event, Consumer<InteractionHook> then) {
+        if (event instanceof StringSelectInteractionEvent) {
+            event.deferReply(true).queue(then);
+        } else {
+            event.deferEdit().queue(then);
+        }
+    }
+
+    /**
+     * Tells the user something went wrong, without replacing the message they were clicking through.
+     *
+     * @param event the event being replied to
+     * @param hook the deferred reply or edit
+     * @param message the failure message
+     */
+    private static void fail(GenericComponentInteractionCreateEvent event, InteractionHook hook, String message) {
         if (event instanceof StringSelectInteractionEvent) {
-            event.reply(title).addComponents(row).addFiles(image.asFileUpload()).setEphemeral(true).queue();
-        } else { // edit it if they're just clicking through
-            event.editMessage(title).setComponents(row).setFiles(image.asFileUpload()).queue();
+            hook.editOriginalEmbeds(EmbedUtil.failure(message)).queue();
+        } else {
+            hook.sendMessageEmbeds(EmbedUtil.failure(message)).setEphemeral(true).queue();
         }
     }
 
@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class PlanGameCommand extends SlashCommand {
     public PlanGameCommand() {
@@ -57,9 +58,8 @@ public class PlanGameCommand extends SlashCommand {
         );
     }
 
-    public static MessageEmbed generateGameBlurb(String gamePk) {
-        GameBlurb blurb = new GameBlurb(gamePk);
-        return blurb.blurb();
+    public static CompletableFuture<MessageEmbed> generateGameBlurb(String gamePk) {
+        return GameBlurb.fromPkAsync(gamePk).thenApply(GameBlurb::blurb);
     }
 
     @Override
@@ -67,7 +67,6 @@ public class PlanGameCommand extends SlashCommand {
         GuildChannel channel = event.getOption("channel", event.getGuildChannel(), OptionMapping::getAsChannel);
 
         String gamePk = event.optString("date", "1");
-        GameBlurb blurb = new GameBlurb(gamePk);
 
         boolean makeThread = event.optBoolean("thread", false);
         boolean makeEvent = event.optBoolean("event", false);
@@ -83,7 +82,14 @@ public class PlanGameCommand extends SlashCommand {
         status.add("Sending Message...");
 
         event.reply(String.join("\n", status)).setEphemeral(true)
-            .queue(interactionHook -> handle(interactionHook, gamePk, channel, blurb, makeThread, makeEvent, status));
+            .queue(interactionHook -> GameBlurb.fromPkAsync(gamePk).whenComplete((blurb, error) -> {
+                if (error != null) {
+                    interactionHook.editOriginal("Failed to get game info. Please try again later.").queue();
+                    return;
+                }
+
+                handle(interactionHook, gamePk, channel, blurb, makeThread, makeEvent, status);
+            }));
     }
 
     public void handle(InteractionHook event, String gamePk, GuildChannel channel, GameBlurb blurb, boolean makeThread, boolean makeEvent, List<String> status) {
@@ -171,7 +177,7 @@ public class PlanGameCommand extends SlashCommand {
 
     @Override
     public void onAutoComplete(CommandAutoCompleteInteractionEvent event) {
-        event.replyChoices(AutocompleteUtil.handleInput(event)).queue();
+        AutocompleteUtil.replyWhenReady(event, AutocompleteUtil.handleInput(event));
     }
 
     public static List<Button> buildButtons(String gamePk, GameBlurb blurb) {
@@ -6,9 +6,11 @@ import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.interactions.InteractionContextType;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.internal.utils.Checks;
+import org.slf4j.LoggerFactory;
 import pw.chew.mlb.listeners.GameFeedHandler;
 import pw.chew.mlb.objects.ActiveGame;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
+import pw.chew.mlb.util.EmbedUtil;
 
 import java.util.Map;
 
@@ -36,18 +38,31 @@ public class ScoreCommand extends SlashCommand {
                 return;
             }
 
-            event.reply(buildScore(currentServerGame.gamePk(), currentServerGame.channelId()))
-                .setActionRow(Button.primary("gameinfo:send:%s".formatted(currentServerGame.gamePk()), "View Game Info"))
-                .setEphemeral(true).queue();
+            replyScore(event, currentServerGame.gamePk(), currentServerGame.channelId());
         } else {
-            event.reply(buildScore(currentGame, null))
-                .setActionRow(Button.primary("gameinfo:send:%s".formatted(currentGame), "View Game Info"))
-                .setEphemeral(true).queue();
+            replyScore(event, currentGame, null);
         }
     }
 
-    public String buildScore(String gamePk, String channelId) {
-        GameState state = GameState.fromPk(gamePk);
+    private void replyScore(SlashCommandEvent event, String gamePk, String channelId) {
+        event.deferReply(true).queue(hook -> GameSnapshot.fromPkAsync(gamePk).whenComplete((state, error) -> {
+            if (error != null) {
+                LoggerFactory.getLogger(ScoreCommand.class).error("Failed to show the score for {}", gamePk, error);
+                hook.editOriginalEmbeds(EmbedUtil.failure(error)).queue();
+                return;
+            }
+            if (state.failed()) {
+                hook.editOriginalEmbeds(EmbedUtil.failure("Failed to get the score. Please try again.")).queue();
+                return;
+            }
+
+            hook.editOriginal(buildScore(state, channelId))
+                .setActionRow(Button.primary("gameinfo:send:%s".formatted(gamePk), "View Game Info"))
+                .queue();
+        }));
+    }
+
+    public String buildScore(GameSnapshot state, String channelId) {
 
         String channelMention = "";
         if (channelId != null) {
@@ -12,17 +12,19 @@ import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
-import org.geysermc.discordbot.util.DicesCoefficient;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.util.EmbedUtil;
+import pw.chew.mlb.util.MLBAPIUtil;
+import pw.chew.mlb.util.TeamSearchIndex;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static pw.chew.mlb.MLBBot.SEASON;
 import static pw.chew.mlb.MLBBot.TEAMS;
@@ -64,8 +66,6 @@ public class SetInfoCommand extends SlashCommand {
         VoiceChannel channel = event.getOption("channel", OptionMapping::getAsChannel).asVoiceChannel();
         String team = event.getOption("team", OptionMapping::getAsString);
 
-        String info = "uh oh";
-
         JSONObject teamInfo = getTeamInfo(team);
 
         if (teamInfo == null) {
@@ -73,108 +73,115 @@ public class SetInfoCommand extends SlashCommand {
             return;
         }
 
-        switch (event.getOption("info", "", OptionMapping::getAsString)) {
-            case "standings" -> {
-
-                String abbreviation = teamInfo.getString("abbreviation");
-                int wins = 0;
-                int losses = 0;
-                int position = 0;
-                String divisionAbbreviation = "";
-
-                int division = teamInfo.getJSONObject("division").getInt("id");
-                String divisionName = teamInfo.getJSONObject("division").getString("name");
-                // Get the first letter of each word in the division name
-                for (String word : divisionName.split(" ")) {
-                    divisionAbbreviation += word.substring(0, 1);
-                }
+        CompletableFuture<String> info = switch (event.getOption("info", "", OptionMapping::getAsString)) {
+            case "standings" -> RestClient.getAsync("https://statsapi.mlb.com/api/v1/standings?leagueId=103,104&standingsTypes=regularSeason&season=" + SEASON)
+                .thenApply(response -> standingsInfo(team, teamInfo, response.asJSONObject()));
+            case "nextgame" -> RestClient.getAsync(String.format("https://statsapi.mlb.com/api/v1/teams/%s?season=%s&hydrate=nextSchedule", teamInfo.getInt("id"), SEASON))
+                .thenApply(response -> nextGameInfo(team, teamInfo, response.asJSONObject()));
+            default -> CompletableFuture.completedFuture("uh oh");
+        };
+
+        event.deferReply(true).queue(hook -> info.whenComplete((name, error) -> {
+            if (error != null) {
+                hook.editOriginalEmbeds(EmbedUtil.failure(error)).queue();
+                return;
+            }
 
-                JSONObject standings = RestClient.get("https://statsapi.mlb.com/api/v1/standings?leagueId=103,104&standingsTypes=regularSeason&season=" + SEASON).asJSONObject();
+            channel.getManager().setName(name).queue(unused ->
+                hook.editOriginal("Set channel name to " + name).queue()
+            );
+        }));
+    }
 
-                // Gotta find the team now...
-                JSONArray records = standings.getJSONArray("records");
-                for (int i = 0; i < records.length(); i++) {
-                    JSONObject record = records.getJSONObject(i);
-                    if (record.getJSONObject("division").getInt("id") != division) continue;
+    private String standingsInfo(String team, JSONObject teamInfo, JSONObject standings) {
+        String abbreviation = teamInfo.getString("abbreviation");
+        int wins = 0;
+        int losses = 0;
+        int position = 0;
+        String divisionAbbreviation = "";
+
+        int division = teamInfo.getJSONObject("division").getInt("id");
+        String divisionName = teamInfo.getJSONObject("division").getString("name");
+        // Get the first letter of each word in the division name
+        for (String word : divisionName.split(" ")) {
+            divisionAbbreviation += word.substring(0, 1);
+        }
 
-                    JSONArray teamRecords = record.getJSONArray("teamRecords");
+        // Gotta find the team now...
+        JSONArray records = standings.getJSONArray("records");
+        for (int i = 0; i < records.length(); i++) {
+            JSONObject record = records.getJSONObject(i);
+            if (record.getJSONObject("division").getInt("id") != division) continue;
 
-                    for (int j = 0; j < teamRecords.length(); j++) {
-                        JSONObject teamRecord = teamRecords.getJSONObject(j);
-                        if (!teamRecord.getJSONObject("team").getString("name").equals(team)) {
-                            continue;
-                        }
+            JSONArray teamRecords = record.getJSONArray("teamRecords");
 
-                        position = j + 1;
-                        wins = teamRecord.getJSONObject("leagueRecord").getInt("wins");
-                        losses = teamRecord.getJSONObject("leagueRecord").getInt("losses");
-                    }
+            for (int j = 0; j < teamRecords.length(); j++) {
+                JSONObject teamRecord = teamRecords.getJSONObject(j);
+                if (!teamRecord.getJSONObject("team").getString("name").equals(team)) {
+                    continue;
                 }
 
-                // Ordinalize the position
-                String ordinal = switch (position) {
-                    case 1 -> "st";
-                    case 2 -> "nd";
-                    case 3 -> "rd";
-                    default -> "th";
-                };
-
-                info = String.format("%s: %s-%s, %s%s in %s", abbreviation, wins, losses, position, ordinal, divisionAbbreviation);
+                position = j + 1;
+                wins = teamRecord.getJSONObject("leagueRecord").getInt("wins");
+                losses = teamRecord.getJSONObject("leagueRecord").getInt("losses");
             }
-            case "nextgame" -> {
-                int teamId = teamInfo.getInt("id");
+        }
 
-                JSONObject teamSchedule = RestClient.get(String.format("https://statsapi.mlb.com/api/v1/teams/%s?season=%s&hydrate=nextSchedule", teamId, SEASON)).asJSONObject();
+        // Ordinalize the position
+        String ordinal = switch (position) {
+            case 1 -> "st";
+            case 2 -> "nd";
+            case 3 -> "rd";
+            default -> "th";
+        };
 
-                JSONObject nextGame = null;
+        return String.format("%s: %s-%s, %s%s in %s", abbreviation, wins, losses, position, ordinal, divisionAbbreviation);
+    }
 
-                JSONArray upcomingGames = teamSchedule.getJSONArray("teams")
-                    .getJSONObject(0)
-                    .getJSONObject("nextGameSchedule")
-                    .getJSONArray("dates");
+    private String nextGameInfo(String team, JSONObject teamInfo, JSONObject teamSchedule) {
+        int teamId = teamInfo.getInt("id");
 
-                for (int i = 0; i < upcomingGames.length(); i++) {
-                    JSONArray games = upcomingGames.getJSONObject(i).getJSONArray("games");
-                    for (int j = 0; j < games.length(); j++) {
-                        JSONObject game = games.getJSONObject(j);
-                        if (game.getJSONObject("status").getString("abstractGameState").equals("Final")) continue;
-                        if (nextGame != null) continue;
+        JSONObject nextGame = null;
 
-                        nextGame = game;
+        JSONArray upcomingGames = teamSchedule.getJSONArray("teams")
+            .getJSONObject(0)
+            .getJSONObject("nextGameSchedule")
+            .getJSONArray("dates");
 
-                        break;
-                    }
-                }
+        for (int i = 0; i < upcomingGames.length(); i++) {
+            JSONArray games = upcomingGames.getJSONObject(i).getJSONArray("games");
+            for (int j = 0; j < games.length(); j++) {
+                JSONObject game = games.getJSONObject(j);
+                if (game.getJSONObject("status").getString("abstractGameState").equals("Final")) continue;
+                if (nextGame != null) continue;
 
-                if (nextGame == null) {
-                    event.reply("Could not find a future game for " + team).setEphemeral(true).queue();
-                    return;
-                }
+                nextGame = game;
 
-                int away = nextGame.getJSONObject("teams").getJSONObject("away").getJSONObject("team").getInt("id");
-                int home = nextGame.getJSONObject("teams").getJSONObject("home").getJSONObject("team").getInt("id");
+                break;
+            }
+        }
 
-                boolean isHome = teamId == home;
+        if (nextGame == null) {
+            throw new IllegalStateException("Could not find a future game for " + team);
+        }
 
-                String opponent = getTeamInfo(nextGame.getJSONObject("teams").getJSONObject(isHome ? "away" : "home").getJSONObject("team").getString("name")).getString("abbreviation");
+        int away = nextGame.getJSONObject("teams").getJSONObject("away").getJSONObject("team").getInt("id");
+        int home = nextGame.getJSONObject("teams").getJSONObject("home").getJSONObject("team").getInt("id");
 
-                OffsetDateTime gameTime = OffsetDateTime.parse(nextGame.getString("gameDate"));
-                // Set the time zone to America/Chicago
-                gameTime = gameTime.withOffsetSameInstant(OffsetDateTime.now().getOffset());
-                // Convert the game time to MM/DD
-                String gameDate = String.format("%s/%s", gameTime.getMonthValue(), gameTime.getDayOfMonth());
-                // Get the time in Central Time, HH:mm A/PM
-                DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
-                String gameTimeString = gameTime.format(timeFormatter);
+        boolean isHome = teamId == home;
 
-                info = String.format("%s: %s %s, %s", gameDate, isHome ? "vs" : "@", opponent, gameTimeString);
-            }
-        }
+        String opponent = getTeamInfo(nextGame.getJSONObject("teams").getJSONObject(isHome ? "away" : "home").getJSONObject("team").getString("name")).getString("abbreviation");
 
-        String finalInfo = info;
-        channel.getManager().setName(info).queue(unused ->
-            event.reply("Set channel name to " + finalInfo).setEphemeral(true).queue()
-        );
+        OffsetDateTime gameTime = OffsetDateTime.parse(nextGame.getString("gameDate"));
+        // Set the time zone to America/Chicago
+        gameTime = gameTime.withOffsetSameInstant(OffsetDateTime.now().getOffset());
+        // Convert the game time to MM/DD
+        String gameDate = String.format("%s/%s", gameTime.getMonthValue(), gameTime.getDayOfMonth());
+        // Get the time in Central Time, HH:mm A/PM
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
+        String gameTimeString = gameTime.format(timeFormatter);
+
+        return String.format("%s: %s %s, %s", gameDate, isHome ? "vs" : "@", opponent, gameTimeString);
     }
 
     @Override
@@ -194,32 +201,10 @@ public class SetInfoCommand extends SlashCommand {
     }
 
     private List<String> potentialTeams(String query) {
-        List<String> potential = new ArrayList<>();
-
-        // Collect the providers
-        List<String> teams = new ArrayList<>();
-        for (JSONObject json : TEAMS) {
-            String name = json.getString("name");
-            teams.add(name);
-        }
-
-        // Search the providers by an exact starting match
-        for (String team : teams) {
-            if (team.toLowerCase().startsWith(query.toLowerCase())) {
-                potential.add(team);
-            }
-        }
-
-        // Find the best similarity
-        for (String team : teams) {
-            double similar = DicesCoefficient.diceCoefficientOptimized(query.toLowerCase(), team.toLowerCase());
-            if (similar > 0.2d) {
-                potential.add(team);
-            }
-        }
-
-        // Send a message if we don't know what team
-        return potential;
+        // Teams starting with the query first, then similar ones
+        return MLBAPIUtil.getTeams().index().search(query, 25).stream()
+            .map(TeamSearchIndex.Team::name)
+            .toList();
     }
 
     private JSONObject getTeamInfo(String teamName) {
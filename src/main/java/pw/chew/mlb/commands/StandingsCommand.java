@@ -3,10 +3,12 @@ package pw.chew.mlb.commands;
 import com.jagrosh.jdautilities.command.SlashCommand;
 import com.jagrosh.jdautilities.command.SlashCommandEvent;
 import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.interactions.InteractionContextType;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import pw.chew.mlb.util.EmbedUtil;
 import pw.chew.mlb.util.MLBAPIUtil;
 import pw.chew.mlb.util.TeamEmoji;
 
@@ -43,8 +45,17 @@ public class StandingsCommand extends SlashCommand {
         String division = event.optString("division", "American League West");
 
         // first we get standings
-        var standings = MLBAPIUtil.getStandings().get(division);
+        event.deferReply(true).queue(hook -> MLBAPIUtil.getStandings().whenComplete((standings, error) -> {
+            if (error != null) {
+                hook.editOriginalEmbeds(EmbedUtil.failure(error)).queue();
+                return;
+            }
 
+            hook.editOriginalEmbeds(buildStandings(division, standings.get(division))).queue();
+        }));
+    }
+
+    private MessageEmbed buildStandings(String division, List<MLBAPIUtil.Standing> standings) {
         List<String> teams = new ArrayList<>();
         for (MLBAPIUtil.Standing standing : standings) {
             teams.add(
@@ -60,10 +71,9 @@ public class StandingsCommand extends SlashCommand {
         }
 
         // make a cute lil embed
-        EmbedBuilder embed = new EmbedBuilder()
+        return new EmbedBuilder()
             .setTitle("Standings for " + division)
-            .setDescription(String.join("\n", teams));
-
-        event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+            .setDescription(String.join("\n", teams))
+            .build();
     }
 }
@@ -15,7 +15,7 @@ import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.utils.TimeFormat;
 import pw.chew.mlb.listeners.GameFeedHandler;
 import pw.chew.mlb.objects.ActiveGame;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
 import pw.chew.mlb.util.AutocompleteUtil;
 import pw.chew.mlb.util.EmbedUtil;
 
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class StartGameCommand extends SlashCommand {
 
@@ -46,15 +47,31 @@ public class StartGameCommand extends SlashCommand {
     @Override
     protected void execute(SlashCommandEvent event) {
         String gamePk = event.getOption("game", "0", OptionMapping::getAsString);
+        CompletableFuture<MessageEmbed> startGame;
         try {
-            MessageEmbed startGame = startGame(gamePk, event.getGuildChannel(), event.getUser());
-            event.replyEmbeds(startGame).queue();
+            startGame = startGame(gamePk, event.getGuildChannel(), event.getUser());
         } catch (IllegalStateException e) {
             event.replyEmbeds(EmbedUtil.failure(e.getMessage())).setEphemeral(true).queue();
+            return;
         }
+
+        event.deferReply().queue(hook -> startGame.whenComplete((embed, error) ->
+            hook.editOriginalEmbeds(error == null ? embed : EmbedUtil.failure(error)).queue()
+        ));
     }
 
-    public static MessageEmbed startGame(String gamePk, GuildMessageChannel channel, User invoker) {
+    /**
+     * Starts a game in a channel.
+     * Checks that don't need MLB's data are done right away, the rest happen once the game has been retrieved.
+     *
+     * @param gamePk the gamePk of the game to start
+     * @param channel the channel to start it in
+     * @param invoker who started it
+     * @throws IllegalStateException if the game can't be started in this channel
+     * @return a future that completes with the embed to reply with, or completes exceptionally with an
+     *         IllegalStateException if the game can't be started
+     */
+    public static CompletableFuture<MessageEmbed> startGame(String gamePk, GuildMessageChannel channel, User invoker) {
         String currentGame = GameFeedHandler.currentGame(channel);
         if (currentGame != null) {
             throw new IllegalStateException("This channel is already playing a game: " + currentGame + ". Please wait for it to finish, or stop it with `/stopgame`.");
@@ -65,9 +82,14 @@ public class StartGameCommand extends SlashCommand {
             throw new IllegalStateException("I cannot send messages in this channel. Please give me permission to send messages in this channel or ask an admin to and try again.");
         }
 
-        // Start a new thread
+        return GameSnapshot.fromPkAsync(gamePk).thenApply(currentState -> start(gamePk, channel, invoker, currentState));
+    }
+
+    private static MessageEmbed start(String gamePk, GuildMessageChannel channel, User invoker, GameSnapshot currentState) {
         ActiveGame activeGame = new ActiveGame(gamePk, channel.getId());
-        GameState currentState = GameState.fromPk(gamePk);
+        if (currentState.failed() || currentState.officialDate() == null) {
+            throw new IllegalStateException("Failed to get the game from MLB. Please try again.");
+        }
 
         // Refuse to start if the game is already over
         if (currentState.isFinal()) {
@@ -82,6 +104,12 @@ public class StartGameCommand extends SlashCommand {
             throw new IllegalStateException("This game is not yet ready to start. Please wait until the game is within 30 minutes of starting.");
         }
 
+        // Someone may have started a game here while we were waiting on MLB
+        String currentGame = GameFeedHandler.currentGame(channel);
+        if (currentGame != null) {
+            throw new IllegalStateException("This channel is already playing a game: " + currentGame + ". Please wait for it to finish, or stop it with `/stopgame`.");
+        }
+
         GameFeedHandler.addGame(activeGame);
 
         List<String> description = new ArrayList<>();
@@ -99,6 +127,6 @@ public class StartGameCommand extends SlashCommand {
 
     @Override
     public void onAutoComplete(CommandAutoCompleteInteractionEvent event) {
-        event.replyChoices(AutocompleteUtil.getTodayGames(false)).queue();
+        AutocompleteUtil.replyWhenReady(event, AutocompleteUtil.getTodayGames(false));
     }
 }
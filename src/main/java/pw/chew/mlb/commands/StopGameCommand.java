@@ -3,11 +3,14 @@ package pw.chew.mlb.commands;
 import com.jagrosh.jdautilities.command.SlashCommand;
 import com.jagrosh.jdautilities.command.SlashCommandEvent;
 import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.interactions.InteractionContextType;
 import net.dv8tion.jda.api.utils.TimeFormat;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
 import pw.chew.mlb.listeners.GameFeedHandler;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
 import pw.chew.mlb.util.EmbedUtil;
 
 import java.util.Map;
@@ -31,15 +34,32 @@ public class StopGameCommand extends SlashCommand {
         if (stoppedGame == null) {
             event.replyEmbeds(EmbedUtil.failure("There is no active game in this channel. Please start a game first.")).setEphemeral(true).queue();
         } else {
-            GameState state = GameState.fromPk(stoppedGame);
+            // The game is stopped already, the snapshot only fills in the embed
+            event.deferReply().queue(hook -> GameSnapshot.fromPkAsync(stoppedGame).whenComplete((state, error) -> {
+                if (error != null) {
+                    LoggerFactory.getLogger(StopGameCommand.class).error("Failed to describe stopped game {}", stoppedGame, error);
+                }
 
-            EmbedBuilder embed = new EmbedBuilder()
-                .setTitle("Stopped Game **%s @ %s**".formatted(state.away().clubName(), state.home().clubName()))
-                .setDescription("Game Date: " + TimeFormat.DATE_LONG.format(state.officialDate()))
-                .setColor(0xd23d33)
-                .setFooter("Game PK: %s".formatted(stoppedGame));
-
-            event.replyEmbeds(embed.build()).queue();
+                hook.editOriginalEmbeds(buildStopped(stoppedGame, error == null ? state : null)).queue();
+            }));
         }
     }
+
+    /**
+     * Builds the embed for a stopped game. Team names and the date are left out if the game couldn't be retrieved.
+     *
+     * @param gamePk the gamePk of the stopped game
+     * @param state the game, null if it couldn't be retrieved
+     * @return the embed
+     */
+    private MessageEmbed buildStopped(String gamePk, @Nullable GameSnapshot state) {
+        boolean known = state != null && !state.failed();
+
+        return new EmbedBuilder()
+            .setTitle(known ? "Stopped Game **%s @ %s**".formatted(state.away().clubName(), state.home().clubName()) : "Stopped Game")
+            .setDescription("Game Date: " + (!known || state.officialDate() == null ? "Unknown" : TimeFormat.DATE_LONG.format(state.officialDate())))
+            .setColor(0xd23d33)
+            .setFooter("Game PK: %s".formatted(gamePk))
+            .build();
+    }
 }
@@ -12,8 +12,6 @@ import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
 import net.dv8tion.jda.api.exceptions.InsufficientPermissionException;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import org.jetbrains.annotations.NotNull;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.mapdb.HTreeMap;
@@ -23,23 +21,40 @@ import org.slf4j.LoggerFactory;
 import pw.chew.mlb.commands.AdminCommand;
 import pw.chew.mlb.objects.ActiveGame;
 import pw.chew.mlb.objects.ChannelConfig;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.DeliveryProfile;
+import pw.chew.mlb.objects.GameSnapshot;
+import pw.chew.mlb.objects.LiveFeed;
+import pw.chew.mlb.objects.PollCadence;
+import pw.chew.mlb.objects.SubscriptionRegistry;
+import pw.chew.mlb.util.HomerEnricher;
+import pw.chew.mlb.util.OutboundDispatcher;
+import pw.chew.mlb.util.PollEngine;
 
 import java.awt.Color;
 import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static pw.chew.mlb.MLBBot.jda;
 
 public class GameFeedHandler {
     private static final Logger logger = LoggerFactory.getLogger(GameFeedHandler.class);
-    public final static Map<String, Thread> GAME_THREADS = new HashMap<>();
+    /**
+     * Polls every active gamePk on a shared pool, so the amount of threads stays flat no matter how many games are live.
+     */
+    public final static PollEngine GAME_POLLER = new PollEngine("GamePoller", Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    /**
+     * Sends everything we post about games, merging embeds that are due at the same time in a channel into one message.
+     */
+    public final static OutboundDispatcher OUTBOUND = new OutboundDispatcher("Outbound");
+    /**
+     * Fills in homer info on plays once Baseball Savant has it, for every channel at once.
+     */
+    public final static HomerEnricher HOMERS = new HomerEnricher("HomerEnricher");
 
     private static final DB db = DBMaker.fileDB("games.db").fileMmapEnable().closeOnJvmShutdown().checksumHeaderBypass().make();
     /**
@@ -48,6 +63,24 @@ public class GameFeedHandler {
     private static final HTreeMap<String, ActiveGame> gamesMap = db
         .hashMap("games", Serializer.STRING, new ActiveGame.EntrySerializer())
         .createOrOpen();
+    /**
+     * A map of channel IDs to the ID of the guild they're in, for every channel in {@link #gamesMap}.
+     */
+    private static final HTreeMap<String, String> guildsMap = db
+        .hashMap("guilds", Serializer.STRING, Serializer.STRING)
+        .createOrOpen();
+    /**
+     * Indexes over the active games. All lookups go through here rather than scanning {@link #gamesMap}.
+     */
+    private static final SubscriptionRegistry subscriptions = new SubscriptionRegistry(gamesMap, guildsMap);
+    /**
+     * How many games may fetch their initial state at once. Games over the limit wait a moment and try again.
+     */
+    private static final Semaphore initialFetches = new Semaphore(4);
+    /**
+     * How far apart the first polls of resumed games are spread.
+     */
+    private static final Duration RESUME_SPREAD = Duration.ofMillis(750);
 
     public static boolean shutdownOnFinish = false;
 
@@ -59,23 +92,34 @@ public class GameFeedHandler {
      * @param modifyDb Whether to modify the database or not. This should only be false when booting.
      */
     public static void addGame(ActiveGame game, boolean modifyDb) {
+        GuildChannel channel = jda.getGuildChannelById(game.channelId());
+        String guildId = channel == null ? null : channel.getGuild().getId();
+
         if (modifyDb) {
-            gamesMap.put(game.channelId(), game);
+            subscriptions.add(game, guildId);
+        } else if (guildId != null) {
+            subscriptions.linkGuild(game.channelId(), guildId);
         }
-        // make sure config is cached
-        ChannelConfig.getConfig(game.channelId());
+        // make sure config is cached, and group the channel with others configured the same way
+        subscriptions.setProfile(game.channelId(), DeliveryProfile.of(ChannelConfig.getConfig(game.channelId())));
 
-        if (!GAME_THREADS.containsKey(game.gamePk())) {
-            Thread thread = new Thread(() -> runGame(game.gamePk()), "Game-" + game.gamePk());
-
-            GAME_THREADS.put(game.gamePk(), thread);
-            thread.start();
-            logger.info("Started game thread for gamePk: " + game.gamePk());
-        }
+        startPolling(game.gamePk(), Duration.ZERO);
 
         logger.info("Added game " + game.gamePk() + " with channel ID " + game.channelId() + " to the active games list");
     }
 
+    /**
+     * Starts polling a game after a delay, unless it's polled already.
+     *
+     * @param gamePk The gamePk of the game.
+     * @param firstPoll How long to wait before the game's first poll.
+     */
+    private static void startPolling(String gamePk, Duration firstPoll) {
+        if (!gamePk.isEmpty() && GAME_POLLER.schedule(gamePk, new GameRunner(gamePk), firstPoll)) {
+            logger.info("Started polling gamePk: " + gamePk);
+        }
+    }
+
     /**
      * Adds a game to the active games list.
      * If no game is currently active, the game will be started, otherwise it will be added to the active games list.
@@ -92,24 +136,66 @@ public class GameFeedHandler {
      * @param game The game to stop from the active games list.
      */
     public static void stopGame(ActiveGame game) {
-        int currentGames = 0;
-        for (ActiveGame activeGame : gamesMap.values()) {
-            if (game.gamePk().equals(activeGame.gamePk())) {
-                currentGames++;
-            }
+        ActiveGame removed = subscriptions.remove(game.channelId());
+
+        // If this was the last channel following the game, stop polling it
+        if (removed != null && subscriptions.forGame(removed.gamePk()).isEmpty()) {
+            removeGameTask(game.gamePk());
+            logger.debug("Stopped polling game " + game.gamePk());
         }
 
-        gamesMap.remove(game.channelId());
+        logger.debug("Removed game " + game.gamePk() + " from the active games list");
+    }
+
+    /**
+     * Resumes polling every game in the active games list. Called once when booting.
+     * <br>
+     * Each game's first poll is spread {@link #RESUME_SPREAD} apart, plus some jitter, rather than every game fetching
+     * its full feed in the same second.
+     */
+    public static void resumeGames() {
+        logger.info("Resuming games");
+
+        List<ActiveGame> games = allGames();
+
+        // Load every channel's config up front, rather than one query per channel
+        ChannelConfig.preload(games.stream().map(ActiveGame::channelId).toList());
 
-        // If this is the last game running, stop the thread
-        if (currentGames == 1) {
-            Thread thread = GAME_THREADS.get(game.gamePk());
-            thread.interrupt();
-            removeThread(game.gamePk());
-            logger.debug("Stopped game " + game.gamePk() + " thread");
+        // Link guilds and group channels by profile in one go, rather than rebuilding the indexes for every channel
+        Map<String, String> guildIds = new HashMap<>();
+        Map<String, DeliveryProfile> profiles = new HashMap<>();
+        for (ActiveGame game : games) {
+            GuildChannel channel = jda.getGuildChannelById(game.channelId());
+            if (channel != null) {
+                guildIds.put(game.channelId(), channel.getGuild().getId());
+            }
+            profiles.put(game.channelId(), DeliveryProfile.of(ChannelConfig.getConfig(game.channelId())));
         }
+        subscriptions.linkAll(guildIds, profiles);
+
+        Map<String, Duration> firstPolls = new HashMap<>();
+        for (ActiveGame game : games) {
+            Duration firstPoll = firstPolls.get(game.gamePk());
+            if (firstPoll == null) {
+                long jitter = ThreadLocalRandom.current().nextLong(RESUME_SPREAD.toMillis());
+                firstPoll = RESUME_SPREAD.multipliedBy(firstPolls.size()).plusMillis(jitter);
+                firstPolls.put(game.gamePk(), firstPoll);
+            }
 
-        logger.debug("Removed game " + game.gamePk() + " from the active games list");
+            // Start the game
+            startPolling(game.gamePk(), firstPoll);
+            // Debug log
+            logger.debug("Resumed game with gamePk: " + game.gamePk());
+        }
+    }
+
+    /**
+     * Moves a channel to the right delivery group after its config changed.
+     *
+     * @param config the channel's new config
+     */
+    public static void updateProfile(ChannelConfig config) {
+        subscriptions.setProfile(config.getId(), DeliveryProfile.of(config));
     }
 
     /**
@@ -118,24 +204,33 @@ public class GameFeedHandler {
      * @return A list of all active games.
      */
     public static List<ActiveGame> allGames() {
-        return new ArrayList<>(gamesMap.values());
+        return subscriptions.all();
     }
 
     /**
-     * Removes a thread from GAME_THREADS, with checks.
+     * Cancels the poll task for a game in {@link #GAME_POLLER}, with checks.
      *
-     * @param gamePk The gamePk of the thread to remove.
+     * @param gamePk The gamePk of the task to remove.
      */
-    public static void removeThread(String gamePk) {
-        LoggerFactory.getLogger(GameFeedHandler.class).debug("Removing thread for gamePk " + gamePk);
+    public static void removeGameTask(String gamePk) {
+        LoggerFactory.getLogger(GameFeedHandler.class).debug("Removing poll task for gamePk " + gamePk);
 
-        GAME_THREADS.remove(gamePk);
+        GAME_POLLER.cancel(gamePk);
 
-        if (GAME_THREADS.isEmpty() && shutdownOnFinish) {
+        if (GAME_POLLER.size() == 0 && shutdownOnFinish) {
             AdminCommand.shutdown();
         }
     }
 
+    /**
+     * Stops polling every game. Games stay in the active games list, so they resume on restart.
+     */
+    public static void shutdown() {
+        GAME_POLLER.shutdown();
+        OUTBOUND.shutdown();
+        HOMERS.shutdown();
+    }
+
     /**
      * Stops a game with a provided text channel.
      * The game in the provided text channel will be stopped.
@@ -144,14 +239,13 @@ public class GameFeedHandler {
      * @return The gamePk if the game was stopped, null if no game was found in the provided text channel.
      */
     public static String stopGame(GuildMessageChannel channel) {
-        for (ActiveGame game : gamesMap.values()) {
-            if (game.channelId().equals(channel.getId())) {
-                stopGame(game);
-                return game.gamePk();
-            }
+        ActiveGame game = subscriptions.forChannel(channel.getId());
+        if (game == null) {
+            return null;
         }
 
-        return null;
+        stopGame(game);
+        return game.gamePk();
     }
 
     /**
@@ -161,13 +255,8 @@ public class GameFeedHandler {
      * @return The current game for the provided text channel, null if no game is currently running in the provided text channel.
      */
     public static String currentGame(GuildMessageChannel channel) {
-        for (ActiveGame game : gamesMap.values()) {
-            if (game.channelId().equals(channel.getId())) {
-                return game.gamePk();
-            }
-        }
-
-        return null;
+        ActiveGame game = subscriptions.forChannel(channel.getId());
+        return game == null ? null : game.gamePk();
     }
 
     /**
@@ -177,36 +266,37 @@ public class GameFeedHandler {
      * @return The score of the first ongoing game in the server.
      */
     public static ActiveGame currentServerGame(@NotNull Guild server) {
-        for (ActiveGame game : gamesMap.values()) {
-            if (server.getGuildChannelById(game.channelId()) != null) {
-                return game;
-            }
-        }
-
-        return null;
+        List<ActiveGame> games = subscriptions.forGuild(server.getId());
+        return games.isEmpty() ? null : games.get(0);
     }
 
     /**
-     * Runs a game. This should be run on a separate thread.
-     *
-     * @param gamePk The gamePk of the game to run.
+     * Runs a game on {@link #GAME_POLLER}. Every poll fetches the latest game snapshot once, posts anything new,
+     * and returns how long to wait until the next poll. The game state is kept up to date incrementally by a {@link LiveFeed}.
      */
-    private static void runGame(String gamePk) {
-        logger.debug("Starting game with gamePk: {}", gamePk);
-
-        if (gamePk.isEmpty()) {
-            return;
+    private static class GameRunner implements PollEngine.Pollable {
+        private final String gamePk;
+        private final LiveFeed feed;
+        private GameSnapshot currentState;
+        /**
+         * How many of the game's advisories have been posted already.
+         */
+        private int postedAdvisories;
+        private PollCadence cadence;
+        private int fails = 0;
+
+        GameRunner(String gamePk) {
+            this.gamePk = gamePk;
+            this.feed = new LiveFeed(gamePk);
         }
 
-        GameState currentState = GameState.fromPk(gamePk);
-        List<JSONObject> postedAdvisories = currentState.gameAdvisories();
-
-//        boolean canEdit = channel.getGuild().getSelfMember().hasPermission(channel, Permission.MANAGE_CHANNEL);
+        @Override
+        public Duration poll() {
+            if (currentState == null) {
+                return start();
+            }
 
-        // Start the looping thread until the game is stopped
-        int fails = 0;
-        while (!currentState.gameState().equals("Final")) {
-            GameState recentState = GameState.fromPk(gamePk);
+            GameSnapshot recentState = feed.poll();
 
             if (recentState.failed()) {
                 int retryIn = fails + 3;
@@ -226,17 +316,8 @@ public class GameFeedHandler {
 
                     sendMessages(notifier.build(), gamePk);
                 }
-                try {
-                    //noinspection BusyWait
-                    Thread.sleep(retryIn * 1000L);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                    // Shutdown the thread
-                    removeThread(gamePk);
-                    return;
-                }
                 fails++;
-                continue;
+                return Duration.ofSeconds(retryIn);
             }
             if (fails > 5) {
                 EmbedBuilder notifier = new EmbedBuilder()
@@ -253,18 +334,19 @@ public class GameFeedHandler {
 
             if (recentState.isCancelled()) {
                 endGame(gamePk, recentState, "\nUnfortunately, this game was cancelled.");
-                return;
+                return null;
             }
 
             if (recentState.isSuspended() || recentState.isPostponed()) {
                 endGame(gamePk, recentState, "\nUnfortunately, this game has been suspended. It will resume at a later time.");
-                return;
+                return null;
             }
 
             // Check to see if the game has changed state
-            if (recentState.gameState().equals("Final")) {
+            if (recentState.isFinal()) {
                 currentState = recentState;
-                break;
+                finishGame();
+                return null;
             }
 
             // Check for new changes in the description
@@ -325,18 +407,16 @@ public class GameFeedHandler {
             }
 
             // Check for new advisories
-            List<JSONObject> newAdvisories = recentState.gameAdvisories();
-            if (newAdvisories.size() > postedAdvisories.size()) {
-                int startIndex = postedAdvisories.size();
+            List<GameSnapshot.Advisory> newAdvisories = recentState.advisories();
+            if (newAdvisories.size() > postedAdvisories) {
                 List<MessageEmbed> queuedAdvisories = new ArrayList<>();
-                for (int i = startIndex; i < newAdvisories.size(); i++) {
-                    JSONObject advisory = newAdvisories.get(i);
-                    JSONObject details = advisory.getJSONObject("details");
+                for (int i = postedAdvisories; i < newAdvisories.size(); i++) {
+                    GameSnapshot.Advisory advisory = newAdvisories.get(i);
 
                     logger.debug("New advisory: {}", advisory);
 
-                    String event = details.getString("event");
-                    String description = details.getString("description");
+                    String event = advisory.event();
+                    String description = advisory.description();
 
                     if (description.replaceAll("\\.", "").equals(event)) {
                         // reset description if it's the same as the event
@@ -348,13 +428,11 @@ public class GameFeedHandler {
                         .setDescription(description);
 
                     // Check if score changed
-                    if (details.optBoolean("isScoringPlay", false)) {
-                        int homeScore = details.getInt("homeScore");
-                        int awayScore = details.getInt("awayScore");
-                        boolean homeScored = homeScore > awayScore;
+                    if (advisory.scoringPlay()) {
+                        boolean homeScored = advisory.homeScore() > advisory.awayScore();
 
                         detailEmbed.setAuthor((homeScored ? recentState.home().clubName() : recentState.away().clubName()) + " scored!");
-                        detailEmbed.addField("Score", recentState.away().clubName() + " " + details.getInt("awayScore") + " - " + details.getInt("homeScore") + " " + recentState.home().clubName(), true);
+                        detailEmbed.addField("Score", recentState.away().clubName() + " " + advisory.awayScore() + " - " + advisory.homeScore() + " " + recentState.home().clubName(), true);
                     }
 
                     queuedAdvisories.add(detailEmbed.build());
@@ -373,7 +451,7 @@ public class GameFeedHandler {
                         In the hole: %s
                         """
                         .formatted(
-                            currentState.offenseBatter(), currentState.onDeck(), currentState.inTheHole()
+                            currentState.offense().batter(), currentState.offense().onDeck(), currentState.offense().inHole()
                         );
 
                     EmbedBuilder inningEmbed = new EmbedBuilder()
@@ -388,89 +466,135 @@ public class GameFeedHandler {
             }
 
             // Update the current states
-            postedAdvisories = newAdvisories;
+            postedAdvisories = newAdvisories.size();
             currentState = recentState;
 
-            // Wait for 10 seconds before requesting the next game state
+            // Wait until the next game state is worth requesting
+            return nextPoll();
+        }
+
+        /**
+         * Retrieves the initial state of the game.
+         *
+         * @return the delay until the next poll, or null if the game is already over
+         */
+        private Duration start() {
+            logger.debug("Starting game with gamePk: {}", gamePk);
+
+            // Don't let too many games fetch their full feed at once
+            if (!initialFetches.tryAcquire()) {
+                return Duration.ofMillis(ThreadLocalRandom.current().nextLong(250, 1000));
+            }
+
+            GameSnapshot initialState;
             try {
-                //noinspection BusyWait
-                Thread.sleep(10000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-                // Shutdown the thread
-                removeThread(gamePk);
-                return;
+                // Make sure we have the config of every channel following the game
+                ChannelConfig.preload(getGames(gamePk).stream().map(ActiveGame::channelId).toList());
+
+                initialState = feed.poll();
+            } finally {
+                initialFetches.release();
             }
-        }
 
-        // Build a scorecard embed
-        EmbedBuilder scorecardEmbed = new EmbedBuilder();
-        scorecardEmbed.setTitle("Scorecard");
+            if (initialState.failed()) {
+                int retryIn = Math.min(20, fails + 3);
+                logger.warn("Failed to get initial game state for gamePk: %s! Retrying in %ss...".formatted(gamePk, retryIn));
+                fails++;
+                return Duration.ofSeconds(retryIn);
+            }
 
-        TableBuilder tableBuilder = new TableBuilder();
-        List<String> headers = new ArrayList<>();
-        headers.add("Team");
+            currentState = initialState;
+            postedAdvisories = currentState.advisories().size();
 
-        JSONArray inningData = currentState.lineScore().getJSONArray("innings");
-        int totalInnings = inningData.length();
+            if (currentState.isFinal()) {
+                finishGame();
+                return null;
+            }
 
-        for (int i = 1; i <= totalInnings; i++) {
-            headers.add(String.valueOf(i));
+            return nextPoll();
         }
 
-        headers.add("R");
-        headers.add("H");
-        headers.add("E");
-        headers.add("LOB");
+        /**
+         * Works out when to poll next, based on what's going on in the game right now.
+         *
+         * @return the delay until the next poll
+         */
+        private Duration nextPoll() {
+            PollCadence next = PollCadence.of(currentState);
+            if (next != cadence) {
+                logger.debug("Polling gamePk {} at {} cadence ({}s)", gamePk, next, next.interval().toSeconds());
+                cadence = next;
+            }
 
-        tableBuilder.addHeaders(headers.toArray(new String[0]));
+            return cadence.nextDelay();
+        }
 
-        String[][] tableData = new String[totalInnings + 5][2];
+        /**
+         * Builds the final scorecard and ends the game.
+         */
+        private void finishGame() {
+            // Build a scorecard embed
+            EmbedBuilder scorecardEmbed = new EmbedBuilder();
+            scorecardEmbed.setTitle("Scorecard");
 
-        // Add team names
-        tableData[0][0] = currentState.away().clubName();
-        tableData[0][1] = currentState.home().clubName();
+            TableBuilder tableBuilder = new TableBuilder();
+            List<String> headers = new ArrayList<>();
+            headers.add("Team");
 
-        for (int i = 0; i < totalInnings; i++) {
-            JSONObject inning = inningData.getJSONObject(i);
-            String awayScore = inning.getJSONObject("away").optString("runs", "-");
-            String homeScore = inning.getJSONObject("home").optString("runs", "-");
+            List<GameSnapshot.Inning> innings = currentState.innings();
+            int totalInnings = innings.size();
 
-            tableData[i+1] = new String[] {
-                String.valueOf(awayScore),
-                homeScore
-            };
-        }
+            for (int i = 1; i <= totalInnings; i++) {
+                headers.add(String.valueOf(i));
+            }
 
-        // Add runs, hits, errors, and leftOnBase to the last row
-        JSONObject homeTotals = currentState.lineScore().getJSONObject("teams").getJSONObject("home");
-        JSONObject awayTotals = currentState.lineScore().getJSONObject("teams").getJSONObject("away");
+            headers.add("R");
+            headers.add("H");
+            headers.add("E");
+            headers.add("LOB");
 
-        int index = totalInnings + 1;
-        for (String item : new String[]{"runs", "hits", "errors", "leftOnBase"}) {
-            tableData[index] = new String[] {
-                String.valueOf(awayTotals.getInt(item)),
-                String.valueOf(homeTotals.getInt(item))
-            };
+            tableBuilder.addHeaders(headers.toArray(new String[0]));
 
-            index++;
-        }
+            String[][] tableData = new String[totalInnings + 5][2];
+
+            // Add team names
+            tableData[0][0] = currentState.away().clubName();
+            tableData[0][1] = currentState.home().clubName();
 
-        // Flip the rows and columns in the tableData matrix
-        String[][] flippedTableData = new String[tableData[0].length][tableData.length];
-        for (int i = 0; i < tableData.length; i++) {
-            for (int j = 0; j < tableData[i].length; j++) {
-                flippedTableData[j][i] = tableData[i][j];
+            for (int i = 0; i < totalInnings; i++) {
+                GameSnapshot.Inning inning = innings.get(i);
+
+                tableData[i+1] = new String[] {
+                    inning.awayRuns(),
+                    inning.homeRuns()
+                };
             }
-        }
 
-        // Set values
-        tableBuilder.setValues(flippedTableData);
-        tableBuilder.setBorders(TableBuilder.Borders.HEADER_PLAIN);
-        tableBuilder.codeblock(true);
+            // Add runs, hits, errors, and leftOnBase to the last row
+            GameSnapshot.Team home = currentState.home();
+            GameSnapshot.Team away = currentState.away();
+
+            tableData[totalInnings + 1] = new String[] {String.valueOf(away.runs()), String.valueOf(home.runs())};
+            tableData[totalInnings + 2] = new String[] {String.valueOf(away.hits()), String.valueOf(home.hits())};
+            tableData[totalInnings + 3] = new String[] {String.valueOf(away.errors()), String.valueOf(home.errors())};
+            tableData[totalInnings + 4] = new String[] {String.valueOf(away.leftOnBase()), String.valueOf(home.leftOnBase())};
+
+            // Flip the rows and columns in the tableData matrix
+            String[][] flippedTableData = new String[tableData[0].length][tableData.length];
+            for (int i = 0; i < tableData.length; i++) {
+                for (int j = 0; j < tableData[i].length; j++) {
+                    flippedTableData[j][i] = tableData[i][j];
+                }
+            }
 
-        // Game is over!
-        endGame(gamePk, currentState, tableBuilder.build());
+            // Set values
+            tableBuilder.setValues(flippedTableData);
+            tableBuilder.setBorders(TableBuilder.Borders.HEADER_PLAIN);
+            tableBuilder.codeblock(true);
+
+            // Game is over!
+            endGame(gamePk, currentState, tableBuilder.build());
+        }
     }
 
     /**
@@ -480,24 +604,15 @@ public class GameFeedHandler {
      * @param gamePk The gamePk of the game.
      */
     public static void sendAdvisory(List<MessageEmbed> embeds, String gamePk) {
-        for (ActiveGame game : getGames(gamePk)) {
-            ChannelConfig config = ChannelConfig.getConfig(game.channelId());
-            if (!config.gameAdvisories()) continue;
+        for (Map.Entry<DeliveryProfile, List<ActiveGame>> bucket : subscriptions.buckets(gamePk).entrySet()) {
+            if (!bucket.getKey().gameAdvisories()) continue;
 
-            GuildMessageChannel channel = canSafelySend(game);
-            if (channel == null) continue;
-
-            channel.sendMessageEmbeds(embeds).queue();
+            OUTBOUND.fanOut(sendableChannels(bucket.getValue()), embeds, Duration.ZERO, null);
         }
     }
 
     public static void sendMessages(MessageEmbed message, String gamePk) {
-        for (ActiveGame game : getGames(gamePk)) {
-            GuildMessageChannel channel = canSafelySend(game);
-            if (channel == null) continue;
-
-            channel.sendMessageEmbeds(message).queue();
-        }
+        OUTBOUND.fanOut(sendableChannels(getGames(gamePk)), List.of(message), Duration.ZERO, null);
     }
 
     /**
@@ -505,64 +620,29 @@ public class GameFeedHandler {
      *
      * @param message The message to send.
      * @param gamePk The gamePk of the game.
-     * @param gameState The game state at the time of this play.
+     * @param gameState The game snapshot at the time of this play.
      * @param isScoringPlay Whether the play is a scoring play.
      */
-    public static void sendPlay(MessageEmbed message, String gamePk, GameState gameState, boolean isScoringPlay) {
-        for (ActiveGame game : getGames(gamePk)) {
-            ChannelConfig config = ChannelConfig.getConfig(game.channelId());
+    public static void sendPlay(MessageEmbed message, String gamePk, GameSnapshot gameState, boolean isScoringPlay) {
+        // Look up potential homers once, no matter how many channels post the play
+        String homerPlayId = HOMERS.track(gameState);
 
-            // If configured to only show scoring plays, ignore non-scoring plays
-            if (config.onlyScoringPlays() && !isScoringPlay) continue;
+        OutboundDispatcher.Delivered onSent = homerPlayId == null ? null :
+            (playMsg, index) -> HOMERS.attach(homerPlayId, playMsg, index);
+        boolean inPlay = gameState.currentBallInPlay();
 
-            boolean inPlay = gameState.currentBallInPlay();
-            int delay = inPlay ? config.inPlayDelay() : config.noPlayDelay();
+        // Channels configured the same way get the play at the same time, so schedule it once per group
+        for (Map.Entry<DeliveryProfile, List<ActiveGame>> bucket : subscriptions.buckets(gamePk).entrySet()) {
+            DeliveryProfile profile = bucket.getKey();
 
-            GuildMessageChannel channel = canSafelySend(game);
-            if (channel == null) continue;
-
-            Instant sent = Instant.now();
-            channel.sendMessageEmbeds(message).queueAfter(delay, TimeUnit.SECONDS, playMsg -> {
-                // Wait 30 seconds until after the original message was sent
-                long waitTime = 30 - Duration.between(sent, Instant.now()).getSeconds();
-
-                if (!gameState.potentialHomer()) return;
-
-                playMsg.editMessageEmbeds(message)
-                    .delay(waitTime, TimeUnit.SECONDS)
-                    .flatMap(playMsg1 -> {
-                        // Get the embed
-                        MessageEmbed embed = playMsg.getEmbeds().get(0);
-                        // add a new field
-                        EmbedBuilder builder = new EmbedBuilder(embed);
-
-                        // find the "Homer Info" field
-                        if (gameState.potentialHomer()) {
-                            // Check potential homers
-                            String homerDescription = gameState.homerDescription();
-
-                            // find the "Homer Info" field
-                            for (MessageEmbed.Field field : embed.getFields()) {
-                                if (Objects.equals(field.getName(), "Homer Info")) {
-                                    // remove the field
-                                    builder.getFields().remove(field);
-                                    break;
-                                }
-                            }
-
-                            if (homerDescription != null) {
-                                builder.addField("Homer Info", homerDescription, false);
-                            }
-                        }
-
-                        return playMsg1.editMessageEmbeds(builder.build());
-                    })
-                    .queue();
-            });
+            // If configured to only show scoring plays, ignore non-scoring plays
+            if (profile.onlyScoringPlays() && !isScoringPlay) continue;
+
+            OUTBOUND.fanOut(sendableChannels(bucket.getValue()), List.of(message), Duration.ofSeconds(profile.delay(inPlay)), onSent);
         }
     }
 
-    public static void endGame(String gamePk, GameState currentState, String scorecard) {
+    public static void endGame(String gamePk, GameSnapshot currentState, String scorecard) {
         for (ActiveGame game : getGames(gamePk)) {
             GuildChannel gChan = jda.getGuildChannelById(game.channelId());
             if (gChan == null) continue;
@@ -619,8 +699,23 @@ public class GameFeedHandler {
             stopGame(game);
         }
 
-        // Remove the game thread
-        removeThread(gamePk);
+        // Stop polling the game
+        removeGameTask(gamePk);
+    }
+
+    /**
+     * Gets the channels we can send to, stopping the game in the rest.
+     *
+     * @param games the games to send to
+     * @return the channels that can be sent to
+     */
+    private static List<GuildMessageChannel> sendableChannels(List<ActiveGame> games) {
+        List<GuildMessageChannel> channels = new ArrayList<>(games.size());
+        for (ActiveGame game : games) {
+            GuildMessageChannel channel = canSafelySend(game);
+            if (channel != null) channels.add(channel);
+        }
+        return channels;
     }
 
     /**
@@ -661,17 +756,9 @@ public class GameFeedHandler {
      * Gets active games for the specified gamePk
      *
      * @param gamePk The gamePk to get active games for
-     * @return A list of active games
+     * @return An unmodifiable list of active games, safe to iterate while games are stopped
      */
     public static List<ActiveGame> getGames(String gamePk) {
-        List<ActiveGame> games = new ArrayList<>();
-
-        for (ActiveGame game : gamesMap.values()) {
-            if (!game.gamePk().equals(gamePk)) continue;
-
-            games.add(game);
-        }
-
-        return games;
+        return subscriptions.forGame(gamePk);
     }
 }
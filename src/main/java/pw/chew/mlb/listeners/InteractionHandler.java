@@ -10,9 +10,11 @@ import pw.chew.mlb.commands.GameInfoCommand;
 import pw.chew.mlb.commands.PlanGameCommand;
 import pw.chew.mlb.commands.StartGameCommand;
 import pw.chew.mlb.objects.GameBlurb;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
 import pw.chew.mlb.util.EmbedUtil;
 
+import java.util.concurrent.CompletableFuture;
+
 public class InteractionHandler extends ListenerAdapter {
     @Override
     public void onButtonInteraction(@NotNull ButtonInteractionEvent event) {
@@ -20,25 +22,34 @@ public class InteractionHandler extends ListenerAdapter {
             String action = event.getComponentId().split(":")[1];
             String gamePk = event.getComponentId().split(":")[2];
             switch (action) {
-                case "refresh" -> event.deferEdit().queue(e -> {
-                    GameBlurb blurb = new GameBlurb(gamePk);
-                    e.editOriginalEmbeds(blurb.blurb())
+                case "refresh" -> event.deferEdit().queue(hook -> GameBlurb.fromPkAsync(gamePk).whenComplete((blurb, error) -> {
+                    if (error != null) {
+                        hook.sendMessageEmbeds(EmbedUtil.failure("Failed to fetch game info. Please try again.")).setEphemeral(true).queue();
+                        return;
+                    }
+
+                    hook.editOriginalEmbeds(blurb.blurb())
                         .setActionRow(PlanGameCommand.buildButtons(gamePk, blurb))
                         .queue();
-                });
+                }));
                 case "start" -> {
+                    CompletableFuture<MessageEmbed> startGame;
                     try {
-                        MessageEmbed startGame = StartGameCommand.startGame(gamePk, event.getGuildChannel(), event.getUser());
-                        event.replyEmbeds(startGame).queue();
+                        startGame = StartGameCommand.startGame(gamePk, event.getGuildChannel(), event.getUser());
                     } catch (IllegalStateException e) {
                         event.replyEmbeds(EmbedUtil.failure(e.getMessage())).setEphemeral(true).queue();
+                        return;
                     }
+
+                    event.deferReply().queue(hook -> startGame.whenComplete((embed, error) ->
+                        hook.editOriginalEmbeds(error == null ? embed : EmbedUtil.failure(error)).queue()
+                    ));
                 }
                 case "lineup" -> {
                     String homeOrAway = event.getComponentId().split(":")[3];
                     String teamName = event.getButton().getLabel();
 
-                    event.reply(GameInfoCommand.buildLineup(gamePk, homeOrAway, teamName)).setEphemeral(true).queue();
+                    GameInfoCommand.buildLineup(gamePk, homeOrAway, teamName, event);
                 }
             }
         }
@@ -59,20 +70,33 @@ public class InteractionHandler extends ListenerAdapter {
                     String homeOrAway = parts[3];
                     GameInfoCommand.buildScoringPlays(gamePk, homeOrAway, event);
                 }
-                case "send", "refresh" -> {
-                    GameState state = GameState.fromPk(gamePk);
+                case "send" -> event.deferReply(true).queue(hook -> GameSnapshot.fromPkAsync(gamePk).whenComplete((state, error) -> {
+                    if (error != null) {
+                        LoggerFactory.getLogger(InteractionHandler.class).error("Failed to send game info for {}", gamePk, error);
+                        hook.editOriginalEmbeds(EmbedUtil.failure(error)).queue();
+                        return;
+                    }
                     if (state.failed()) {
-                        event.replyEmbeds(EmbedUtil.failure("Failed to fetch game state. Please try again.")).setEphemeral(true).queue();
+                        hook.editOriginalEmbeds(EmbedUtil.failure("Failed to fetch game state. Please try again.")).queue();
                         return;
                     }
 
-                    if (action.equals("send")) {
-                        var rows = GameInfoCommand.buildActionRows(state);
-                        event.replyEmbeds(GameInfoCommand.buildGameInfoEmbed(state)).setComponents(rows).setEphemeral(true).queue();
-                    } else {
-                        event.editMessageEmbeds(GameInfoCommand.buildGameInfoEmbed(state)).queue();
+                    var rows = GameInfoCommand.buildActionRows(state);
+                    hook.editOriginalEmbeds(GameInfoCommand.buildGameInfoEmbed(state)).setComponents(rows).queue();
+                }));
+                case "refresh" -> event.deferEdit().queue(hook -> GameSnapshot.fromPkAsync(gamePk).whenComplete((state, error) -> {
+                    if (error != null) {
+                        LoggerFactory.getLogger(InteractionHandler.class).error("Failed to refresh game info for {}", gamePk, error);
+                        hook.sendMessageEmbeds(EmbedUtil.failure(error)).setEphemeral(true).queue();
+                        return;
                     }
-                }
+                    if (state.failed()) {
+                        hook.sendMessageEmbeds(EmbedUtil.failure("Failed to fetch game state. Please try again.")).setEphemeral(true).queue();
+                        return;
+                    }
+
+                    hook.editOriginalEmbeds(GameInfoCommand.buildGameInfoEmbed(state)).queue();
+                }));
             }
         }
     }
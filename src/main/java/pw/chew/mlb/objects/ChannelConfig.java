@@ -1,14 +1,26 @@
 package pw.chew.mlb.objects;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.hibernate.Transaction;
 import org.slf4j.LoggerFactory;
 import pw.chew.chewbotcca.util.DatabaseHelper;
 import pw.chew.mlb.models.Channel;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public class ChannelConfig {
-    static final HashMap<String, ChannelConfig> cache = new HashMap<>();
+    /**
+     * How many channels to look up per query when preloading.
+     */
+    private static final int PRELOAD_BATCH = 500;
+    static final Cache<String, ChannelConfig> cache = Caffeine.newBuilder()
+        .maximumSize(50_000)
+        .expireAfterAccess(Duration.ofDays(1))
+        .build();
     final Channel data;
     public ChannelConfig(Channel input) {
         data = input;
@@ -22,11 +34,8 @@ public class ChannelConfig {
      * @return the config for the specified channel
      */
     public static ChannelConfig getConfig(String id, boolean createIfNotExists) {
-        if (cache.containsKey(id)) {
-            return cache.get(id);
-        } else {
-            return retrieveChannel(id, createIfNotExists);
-        }
+        // Loaded at most once per ID, even when many threads ask at the same time
+        return cache.get(id, key -> retrieveChannel(key, createIfNotExists));
     }
 
     public static ChannelConfig getConfig(String id) {
@@ -40,11 +49,54 @@ public class ChannelConfig {
      * @return a possibly null channel
      */
     public static ChannelConfig getChannelIfCached(String id) {
-        return cache.get(id);
+        return cache.getIfPresent(id);
     }
 
     /**
-     * Retrieve server info
+     * Loads the configs of many channels into the cache at once, with one query per {@value #PRELOAD_BATCH} channels
+     * rather than one per channel. Channels without a config get the default one, as {@link #getConfig(String)} would.
+     *
+     * @param channelIds the channel IDs
+     */
+    public static void preload(Collection<String> channelIds) {
+        List<Long> missing = new ArrayList<>();
+        for (String id : channelIds) {
+            if (cache.getIfPresent(id) == null) missing.add(Long.parseLong(id));
+        }
+        if (missing.isEmpty()) return;
+
+        var session = DatabaseHelper.getSessionFactory().openSession();
+        try {
+            Transaction trans = session.beginTransaction();
+            for (int start = 0; start < missing.size(); start += PRELOAD_BATCH) {
+                List<Long> batch = missing.subList(start, Math.min(missing.size(), start + PRELOAD_BATCH));
+                List<Channel> found = session.createQuery("from Channel where id in (:ids)", Channel.class)
+                    .setParameterList("ids", batch)
+                    .getResultList();
+
+                List<Long> notFound = new ArrayList<>(batch);
+                for (Channel channel : found) {
+                    cache.put(channel.getId() + "", new ChannelConfig(channel));
+                    notFound.remove(channel.getId());
+                }
+
+                for (Long id : notFound) {
+                    Channel channel = new Channel();
+                    channel.setId(id);
+                    session.save(channel);
+                    cache.put(id + "", new ChannelConfig(channel));
+                }
+            }
+            trans.commit();
+        } finally {
+            session.close();
+        }
+
+        LoggerFactory.getLogger(ChannelConfig.class).debug("Preloaded {} channels into the channel cache", missing.size());
+    }
+
+    /**
+     * Retrieve server info. This goes to the database, use {@link #getConfig(String, boolean)} to get it cached.
      * @param channelId the server id
      * @return a server settings
      */
@@ -53,6 +105,7 @@ public class ChannelConfig {
         var session = DatabaseHelper.getSessionFactory().openSession();
         Channel channel = session.find(Channel.class, id);
         if (channel == null && !createIfNotExists) {
+            session.close();
             return null;
         }
         if (channel == null) {
@@ -64,7 +117,6 @@ public class ChannelConfig {
         }
         session.close();
         ChannelConfig settings = new ChannelConfig(channel);
-        cache.put(channelId, settings);
         LoggerFactory.getLogger(ChannelConfig.class).debug("Saving {} to channel cache", id);
         return settings;
     }
@@ -85,14 +137,13 @@ public class ChannelConfig {
         return data;
     }
 
+    /**
+     * Saves this config. The cache is updated right away, the database shortly after by {@link ConfigWriter}.
+     */
     public void saveData() {
-        var session = DatabaseHelper.getSessionFactory().openSession();
-        Transaction trans = session.beginTransaction();
-        session.update(data);
-        trans.commit();
-        session.close();
-        cache.put(getId(), new ChannelConfig(data));
-        LoggerFactory.getLogger(ChannelConfig.class).debug("Saved {} to database, and updating cache", getId());
+        cache.put(getId(), this);
+        ConfigWriter.markDirty(data.getId(), data);
+        LoggerFactory.getLogger(ChannelConfig.class).debug("Updated {} in cache, queued saving to database", getId());
     }
 
     public String getId() {
@@ -0,0 +1,161 @@
+package pw.chew.mlb.objects;
+
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.DatabaseHelper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves changed configs to the database in the background.
+ * <br>
+ * Configs are cached, so the cache already has the latest value the moment it changes. Writing it to the database
+ * can wait a little: changes are collected for {@value #FLUSH_INTERVAL_SECONDS} seconds, multiple changes to the same
+ * config are merged into one, and everything is written in a single transaction using JDBC batches.
+ * Anything still pending is written on shutdown.
+ */
+public class ConfigWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigWriter.class);
+    private static final int FLUSH_INTERVAL_SECONDS = 2;
+    private static final int BATCH_SIZE = 50;
+    /**
+     * How many flushes in a row a config can fail to be written in before it's dropped.
+     */
+    private static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * Entities waiting to be written, by entity type and ID.
+     */
+    private static final Map<String, Object> dirty = new LinkedHashMap<>();
+    /**
+     * How many flushes in a row each entity has failed to be written in, by entity type and ID.
+     * Only used while holding {@link #flushLock}.
+     */
+    private static final Map<String, Integer> failures = new HashMap<>();
+    private static final Object flushLock = new Object();
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ConfigWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        executor.scheduleWithFixedDelay(ConfigWriter::flush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(ConfigWriter::flush, "ConfigWriter-Shutdown"));
+    }
+
+    // Prevent instantiation
+    private ConfigWriter() {
+    }
+
+    /**
+     * Marks an entity as changed, so it's written with the next flush.
+     *
+     * @param id the entity's ID
+     * @param entity the entity
+     */
+    static synchronized void markDirty(Object id, Object entity) {
+        dirty.put(entity.getClass().getSimpleName() + ":" + id, entity);
+    }
+
+    /**
+     * Writes every pending change now. Only one flush runs at a time, whether it's from the background, a shutdown
+     * listener or the shutdown hook.
+     * <br>
+     * If the batch fails, each config is retried on its own so one bad config can't hold back the rest. A config that
+     * keeps failing is dropped after {@value #MAX_ATTEMPTS} flushes.
+     */
+    public static void flush() {
+        synchronized (flushLock) {
+            synchronized (ConfigWriter.class) {
+                if (dirty.isEmpty()) return;
+            }
+            // Keep everything pending until there's a database to write to
+            if (DatabaseHelper.getSessionFactory() == null) return;
+
+            Map<String, Object> toWrite;
+            synchronized (ConfigWriter.class) {
+                if (dirty.isEmpty()) return;
+                toWrite = new LinkedHashMap<>(dirty);
+                dirty.clear();
+            }
+
+            RuntimeException batchError = write(toWrite.values());
+            if (batchError == null) {
+                failures.keySet().removeAll(toWrite.keySet());
+                logger.debug("Saved {} configs to the database", toWrite.size());
+                return;
+            }
+            if (toWrite.size() > 1) {
+                logger.warn("Failed to save {} configs together, saving them one at a time: {}", toWrite.size(), batchError.getMessage());
+            }
+
+            for (Map.Entry<String, Object> entry : toWrite.entrySet()) {
+                String key = entry.getKey();
+                RuntimeException error = toWrite.size() == 1 ? batchError : write(List.of(entry.getValue()));
+                if (error == null) {
+                    failures.remove(key);
+                    continue;
+                }
+
+                int attempts = failures.merge(key, 1, Integer::sum);
+                if (attempts >= MAX_ATTEMPTS) {
+                    logger.error("Failed to save config {} after {} attempts, dropping it", key, attempts, error);
+                    failures.remove(key);
+                    continue;
+                }
+
+                logger.warn("Failed to save config {}, retrying with the next flush: {}", key, error.getMessage());
+                // Retry, unless the config changed again in the meantime
+                synchronized (ConfigWriter.class) {
+                    dirty.putIfAbsent(key, entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes entities in a single transaction, using JDBC batches.
+     *
+     * @param entities the entities to write
+     * @return null if they were written, otherwise what went wrong
+     */
+    private static RuntimeException write(Collection<Object> entities) {
+        var session = DatabaseHelper.getSessionFactory().openSession();
+        try {
+            session.setJdbcBatchSize(BATCH_SIZE);
+            Transaction trans = session.beginTransaction();
+            int i = 0;
+            for (Object entity : entities) {
+                session.update(entity);
+                if (++i % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            trans.commit();
+            return null;
+        } catch (RuntimeException e) {
+            if (session.getTransaction().isActive()) session.getTransaction().rollback();
+            return e;
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Writes every pending change and stops flushing in the background.
+     */
+    public static void shutdown() {
+        executor.shutdown();
+        flush();
+    }
+}
@@ -0,0 +1,37 @@
+package pw.chew.mlb.objects;
+
+/**
+ * The settings that decide which plays a channel gets and when. Channels with the same profile get exactly the same
+ * messages at the same time, so they're sent to together.
+ *
+ * @param inPlayDelay the delay in seconds for balls in play
+ * @param noPlayDelay the delay in seconds for everything else, e.g. strikeouts and walks
+ * @param onlyScoringPlays whether only scoring plays are sent
+ * @param gameAdvisories whether game advisories are sent
+ */
+public record DeliveryProfile(int inPlayDelay, int noPlayDelay, boolean onlyScoringPlays, boolean gameAdvisories) {
+    /**
+     * The profile of a channel with the default configuration.
+     */
+    public static final DeliveryProfile DEFAULT = new DeliveryProfile(13, 18, false, true);
+
+    /**
+     * Gets the profile for a channel's configuration.
+     *
+     * @param config the channel's configuration
+     * @return the profile
+     */
+    public static DeliveryProfile of(ChannelConfig config) {
+        return new DeliveryProfile(config.inPlayDelay(), config.noPlayDelay(), config.onlyScoringPlays(), config.gameAdvisories());
+    }
+
+    /**
+     * The delay before a play is sent.
+     *
+     * @param inPlay whether the ball was put in play
+     * @return the delay in seconds
+     */
+    public int delay(boolean inPlay) {
+        return inPlay ? inPlayDelay : noPlayDelay;
+    }
+}
@@ -14,18 +14,25 @@ import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static pw.chew.mlb.commands.PlanGameCommand.cleanDuplicates;
 
 public record GameBlurb(String gamePk, JSONObject data) {
-    public GameBlurb(String gamePk) {
-        this(gamePk, RestClient.get("https://statsapi.mlb.com/api/v1/schedule?language=en&gamePk=%s&hydrate=broadcasts(all),gameInfo,team,probablePitcher(all)&useLatestGames=true&fields=dates,date,games,gameDate,teams,away,probablePitcher,fullName,team,teamName,id,name,leagueRecord,wins,losses,pct,home,venue,name,broadcasts,type,name,homeAway,isNational,callSign".formatted(gamePk))
-            .asJSONObject()
-            .getJSONArray("dates")
-            .getJSONObject(0)
-            .getJSONArray("games")
-            .getJSONObject(0));
+    /**
+     * Retrieves the blurb for the provided game PK (ID) without blocking the calling thread.
+     *
+     * @param gamePk The gamePk of the game
+     * @return A future that completes with the blurb
+     */
+    public static CompletableFuture<GameBlurb> fromPkAsync(String gamePk) {
+        return RestClient.getAsync("https://statsapi.mlb.com/api/v1/schedule?language=en&gamePk=%s&hydrate=broadcasts(all),gameInfo,team,probablePitcher(all)&useLatestGames=true&fields=dates,date,games,gameDate,teams,away,probablePitcher,fullName,team,teamName,id,name,leagueRecord,wins,losses,pct,home,venue,name,broadcasts,type,name,homeAway,isNational,callSign".formatted(gamePk))
+            .thenApply(response -> new GameBlurb(gamePk, response.asJSONObject()
+                .getJSONArray("dates")
+                .getJSONObject(0)
+                .getJSONArray("games")
+                .getJSONObject(0)));
     }
 
     public String name() {
@@ -0,0 +1,768 @@
+package pw.chew.mlb.objects;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.dv8tion.jda.api.utils.TimeFormat;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.MiscUtil;
+import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.util.JsonStream;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, typed snapshot of a game at one point in time.
+ * <br>
+ * Unlike {@link GameState}, which walks the raw JSON again on every call, a snapshot reads everything it needs from the
+ * live feed in a single pass when it's built. Reading from it afterwards is just field access.
+ *
+ * @param gamePk The gamePk of the game
+ * @param failed Whether the game data could not be retrieved
+ * @param abstractState The abstract game state, e.g. "Preview", "Live" or "Final"
+ * @param detailedState The detailed game state, e.g. "Warmup", "In Progress" or "Delayed: Rain"
+ * @param officialDate When the game is officially slated to start
+ * @param away The away team
+ * @param home The home team
+ * @param inning The current inning
+ * @param inningOrdinal The current inning as an ordinal, e.g. "4th"
+ * @param inningState The current inning state, e.g. "Top", "Middle", "Bottom" or "End"
+ * @param balls The balls in the current count
+ * @param strikes The strikes in the current count
+ * @param outs The outs this inning
+ * @param currentPitcher The current pitcher's full name
+ * @param currentBatter The current batter's full name
+ * @param offense The next batters up for the offense
+ * @param runners Who is currently on base
+ * @param lastCompletedPlay The last completed play, null if there hasn't been one
+ * @param advisories Every game advisory so far, in order
+ * @param innings The runs scored per inning
+ * @param attendance The attendance, -1 if not reported
+ * @param conditions The weather, null if not available
+ * @param decisions The winning/losing/save pitchers, only filled in once the game is final
+ */
+public record GameSnapshot(
+    String gamePk, boolean failed,
+    String abstractState, String detailedState, @Nullable OffsetDateTime officialDate,
+    Team away, Team home,
+    int inning, String inningOrdinal, String inningState,
+    int balls, int strikes, int outs,
+    String currentPitcher, String currentBatter, Offense offense, Runners runners,
+    @Nullable Play lastCompletedPlay, List<Advisory> advisories, List<Inning> innings,
+    int attendance, @Nullable Weather conditions, String decisions
+) {
+    /**
+     * Snapshots fetched by {@link #fromPk(String)}, so commands run in quick succession share one request.
+     */
+    private static final Cache<String, GameSnapshot> recent = Caffeine.newBuilder()
+        .maximumSize(1_000)
+        .expireAfterWrite(Duration.ofSeconds(10))
+        .build();
+
+    /**
+     * The parts of a team a snapshot reads, everything else about it is skipped while streaming.
+     */
+    private static final JsonStream.Selection TEAM = JsonStream.Selection.of("id", "name", "abbreviation", "clubName");
+    /**
+     * The only part of the box score a snapshot reads: pitching notes, for the decisions.
+     */
+    private static final JsonStream.Selection PITCHING_NOTES = JsonStream.Selection.of()
+        .with("players", JsonStream.Selection.of().any(JsonStream.Selection.of()
+            .with("stats", JsonStream.Selection.of().with("pitching", JsonStream.Selection.of("note")))));
+
+    /**
+     * Retrieves the latest snapshot for the provided game PK (ID).
+     * <br>
+     * The feed is read as it streams in, and only the fields a snapshot needs are ever built into objects. Plays are
+     * read one at a time and dropped as soon as they've been looked at.
+     *
+     * @param gamePk The gamePk of the game
+     * @return The snapshot, which might have {@link #failed()}
+     */
+    @NotNull
+    public static GameSnapshot fromPk(String gamePk) {
+        return fromPkAsync(gamePk).join();
+    }
+
+    /**
+     * Retrieves the latest snapshot for the provided game PK (ID) without blocking the calling thread.
+     * See {@link #fromPk(String)}.
+     *
+     * @param gamePk The gamePk of the game
+     * @return A future that completes with the snapshot, which might have {@link #failed()}. It never completes exceptionally.
+     */
+    @NotNull
+    public static CompletableFuture<GameSnapshot> fromPkAsync(String gamePk) {
+        GameSnapshot cached = recent.getIfPresent(gamePk);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return RestClient.streamAsync(GameState.FEED_URL.replace(":id", gamePk), (code, body) -> {
+                if (code < 200 || code >= 300) {
+                    return failed(gamePk);
+                }
+
+                return stream(body, gamePk);
+            })
+            .exceptionally(e -> {
+                LoggerFactory.getLogger(GameSnapshot.class).error("Failed to read game data for gamePk {}: {}", gamePk, e.getMessage());
+                return failed(gamePk);
+            })
+            .thenApply(snapshot -> {
+                if (!snapshot.failed()) {
+                    recent.put(gamePk, snapshot);
+                }
+                return snapshot;
+            });
+    }
+
+    /**
+     * Builds a snapshot by streaming a live feed response.
+     *
+     * @param body the live feed response
+     * @param gamePk the gamePk of the game
+     * @return the snapshot
+     */
+    @NotNull
+    public static GameSnapshot stream(InputStream body, String gamePk) {
+        Reader reader = new Reader(gamePk);
+        return reader.build(JsonStream.read(body, selection(reader::play)));
+    }
+
+    /**
+     * The parts of a live feed a snapshot is built from.
+     *
+     * @param plays receives each play as it's read instead of keeping them, or null to keep them
+     * @return a new selection
+     */
+    static JsonStream.Selection selection(@Nullable Consumer<JSONObject> plays) {
+        JsonStream.Selection play = JsonStream.Selection.of("about", "result")
+            .with("playEvents", JsonStream.Selection.of("isPitch", "playId", "details", "hitData"));
+        if (plays != null) {
+            play.each(plays);
+        }
+
+        return JsonStream.Selection.of()
+            .with("gameData", JsonStream.Selection.of("status", "datetime", "gameInfo", "weather")
+                .with("teams", JsonStream.Selection.of().with("away", TEAM).with("home", TEAM)))
+            .with("liveData", JsonStream.Selection.of("linescore", "decisions")
+                .with("plays", JsonStream.Selection.of()
+                    .with("currentPlay", JsonStream.Selection.of("count", "matchup"))
+                    .with("allPlays", play))
+                .with("boxscore", JsonStream.Selection.of()
+                    .with("teams", JsonStream.Selection.of().with("away", PITCHING_NOTES).with("home", PITCHING_NOTES))));
+    }
+
+    /**
+     * Builds a snapshot from a live feed response, reading it once.
+     *
+     * @param feed the live feed response
+     * @param gamePk the gamePk of the game
+     * @return the snapshot
+     */
+    @NotNull
+    public static GameSnapshot from(JSONObject feed, String gamePk) {
+        Reader reader = new Reader(gamePk);
+
+        JSONArray allPlays = object(object(feed, "liveData"), "plays").optJSONArray("allPlays");
+        if (allPlays != null) {
+            for (int i = 0; i < allPlays.length(); i++) {
+                reader.play(allPlays.getJSONObject(i));
+            }
+        }
+
+        return reader.build(feed);
+    }
+
+    /**
+     * A snapshot for a game whose data could not be retrieved.
+     *
+     * @param gamePk the gamePk of the game
+     * @return a failed snapshot
+     */
+    @NotNull
+    public static GameSnapshot failed(String gamePk) {
+        Team unknown = new Team(0, "", "", "", 0, 0, 0, 0);
+        return new GameSnapshot(gamePk, true, "", "", null, unknown, unknown, 0, "", "", 0, 0, 0, "", "",
+            new Offense("", "", ""), new Runners(null, null, null), null, List.of(), List.of(), -1, null, "");
+    }
+
+    /**
+     * Whether a game is final.
+     *
+     * @return true if the game is final
+     */
+    public boolean isFinal() {
+        return abstractState.equals("Final");
+    }
+
+    /**
+     * Check if a game is scheduled (or in pre-game).
+     *
+     * @return true if the game hasn't started yet
+     */
+    public boolean isScheduled() {
+        return detailedState.contains("Pre-Game") || detailedState.contains("Scheduled");
+    }
+
+    /**
+     * Check if a game is canceled.
+     *
+     * @return true if the game is canceled
+     */
+    public boolean isCancelled() {
+        return detailedState.equals("Cancelled");
+    }
+
+    /**
+     * Check if a game is suspended.
+     *
+     * @return true if the game is suspended
+     */
+    public boolean isSuspended() {
+        return detailedState.contains("Suspended");
+    }
+
+    /**
+     * Check if a game is postponed.
+     *
+     * @return true if the game is postponed
+     */
+    public boolean isPostponed() {
+        return detailedState.contains("Postponed");
+    }
+
+    /**
+     * Returns the official date as Month Day, Year
+     *
+     * @return the date as Month Day, Year
+     */
+    public String friendlyDate() {
+        return officialDate == null ? "Unknown Date" : officialDate.format(DateTimeFormatter.ofPattern("MMMM d, uuuu"));
+    }
+
+    /**
+     * The description of the last completed play, or an empty string if there hasn't been one.
+     *
+     * @return the current play description
+     */
+    @NotNull
+    public String currentPlayDescription() {
+        return lastCompletedPlay == null ? "" : lastCompletedPlay.description();
+    }
+
+    /**
+     * The "at bat" index of the last completed play. -1 if no plays have been completed.
+     *
+     * @return the current "at bat" index
+     */
+    public int atBatIndex() {
+        return lastCompletedPlay == null ? -1 : lastCompletedPlay.atBatIndex();
+    }
+
+    /**
+     * Whether the last completed play put the ball in play.
+     *
+     * @return true if the ball was in play
+     */
+    public boolean currentBallInPlay() {
+        return lastCompletedPlay != null && lastCompletedPlay.inPlay();
+    }
+
+    /**
+     * The hit info for the last completed play, e.g. "Ball left the bat at a speed of 100 mph at a 45° angle, and travelled 400 feet."
+     *
+     * @return the hit info, or null if there is no hit data
+     */
+    @Nullable
+    public String hitInfo() {
+        if (lastCompletedPlay == null || lastCompletedPlay.hit() == null) {
+            return null;
+        }
+
+        Hit hit = lastCompletedPlay.hit();
+        return String.format("Ball left the bat at a speed of %s mph at a %s° angle, and travelled %s feet.",
+            hit.launchSpeed(), hit.launchAngle(), hit.totalDistance());
+    }
+
+    /**
+     * Whether the last completed play is a potential homer, i.e. it travelled at least 300 feet.
+     *
+     * @return true if the hit is a potential homer
+     */
+    public boolean potentialHomer() {
+        return lastCompletedPlay != null && lastCompletedPlay.hit() != null && lastCompletedPlay.hit().totalDistance() >= 300.0;
+    }
+
+    /**
+     * Gets the homer at parks data for the last completed play from Baseball Savant.
+     * Data may take up to 30 seconds to be available.
+     *
+     * @return the homer at parks data, or null if there is no hit data
+     */
+    @Nullable
+    public JSONObject homerAtParks() {
+        String url = homerAtParksUrl();
+        if (url == null) {
+            return null;
+        }
+
+        return RestClient.get(url).asJSONObject();
+    }
+
+    /**
+     * Gets the Baseball Savant URL with the homer at parks data for the last completed play.
+     *
+     * @return the URL, or null if there is no hit data
+     */
+    @Nullable
+    public String homerAtParksUrl() {
+        if (lastCompletedPlay == null || lastCompletedPlay.hit() == null) {
+            return null;
+        }
+
+        return "https://baseballsavant.mlb.com/gamefeed/x-parks/%s/%s?".formatted(gamePk, lastCompletedPlay.hit().playId());
+    }
+
+    /**
+     * Gets the homer description with data from Baseball Savant. If there is no hit data, returns null.
+     * If statcast returns an error, a generic error message is returned.
+     *
+     * @return the homer description
+     */
+    @Nullable
+    public String homerDescription() {
+        return homerDescription(homerAtParks());
+    }
+
+    /**
+     * Gets the homer description from already retrieved homer at parks data.
+     * If statcast returned an error, a generic error message is returned.
+     *
+     * @param homers the data from {@link #homerAtParks()}, null if there is no hit data
+     * @return the homer description, or null if there is no hit data
+     */
+    @Nullable
+    public String homerDescription(@Nullable JSONObject homers) {
+        if (homers == null) {
+            return null;
+        }
+
+        if (homers.has("error")) {
+            return "Failed to retrieve homer data. Thanks MLB!";
+        }
+
+        JSONArray hrs = homers.getJSONArray("hr");
+        JSONArray not = homers.getJSONArray("not");
+
+        int ballparks = hrs.length();
+
+        // was it a homer or not? this determines if we say "would've been a homer" versus "would also be a homer"
+        boolean isHomer = currentPlayDescription().contains("homers") || currentPlayDescription().contains("grand slam");
+
+        // now we see if it was away/home. if it's away, we'll see if it was a homer at their home field
+        String awayAbbrev = away.abbreviation();
+        boolean awayBpHomer = false;
+        String awayBallpark = null;
+
+        for (Object bpObj : hrs) {
+            JSONObject bp = (JSONObject) bpObj;
+            if (bp.getString("team_abbrev").equals(awayAbbrev)) {
+                awayBpHomer = true;
+                awayBallpark = bp.getString("name");
+            }
+        }
+        if (awayBallpark == null) {
+            for (Object bpObj : not) {
+                JSONObject bp = (JSONObject) bpObj;
+                if (bp.getString("team_abbrev").equals(awayAbbrev)) {
+                    awayBallpark = bp.getString("name");
+                }
+            }
+        }
+
+        return "This %s a homer at %s / 30 ballparks%s.".formatted(
+            isHomer ? "would also be" : "would've been", ballparks,
+            ballparks > 0 ? (", %s %s".formatted(awayBpHomer ? "including" : "but not", awayBallpark)) : ""
+        );
+    }
+
+    /**
+     * Gets who is currently on a base. E.g., "1st: Mike Trout".
+     * Can also be "No one is on base." if no one is on base.
+     *
+     * @return who is currently on a base
+     */
+    public String currentBases() {
+        List<String> bases = new ArrayList<>();
+        if (runners.first() != null) bases.add("1st: " + runners.first());
+        if (runners.second() != null) bases.add("2nd: " + runners.second());
+        if (runners.third() != null) bases.add("3rd: " + runners.third());
+
+        if (bases.isEmpty()) {
+            return "No one is on base.";
+        }
+
+        return String.join("\n", bases);
+    }
+
+    /**
+     * Builds a summary of the game. This includes the score, who won/is winning, and the current inning.
+     * Present tense if the game is ongoing, past tense if the game is over.
+     *
+     * @return the summary of the game
+     */
+    public String summary() {
+        if (isScheduled() && officialDate != null) {
+            return "The game is scheduled to start at %s.".formatted(TimeFormat.DATE_TIME_SHORT.format(officialDate));
+        }
+
+        int homeRuns = home.runs();
+        int awayRuns = away.runs();
+
+        String winning = homeRuns > awayRuns ? home.clubName() : away.clubName();
+        String losing = homeRuns > awayRuns ? away.clubName() : home.clubName();
+
+        String score = homeRuns > awayRuns ? "%s - %s".formatted(homeRuns, awayRuns) : "%s - %s".formatted(awayRuns, homeRuns);
+
+        if (isFinal()) {
+            if (awayRuns == homeRuns) {
+                return "Well, that's odd; the %s tied the %s, %s.".formatted(away.clubName(), home.clubName(), score);
+            }
+
+            return "The %s beat the %s, %s.".formatted(winning, losing, score);
+        } else {
+            String currentInning = "the %s of the %s".formatted(inningState, inningOrdinal);
+
+            if (awayRuns == homeRuns) {
+                return "The %s are tied with the %s %s at %s.".formatted(away.clubName(), home.clubName(), score, currentInning);
+            } else {
+                return "The %s are leading the %s, %s in %s.".formatted(winning, losing, score, currentInning);
+            }
+        }
+    }
+
+    /**
+     * Returns a friendly string for the attendance
+     *
+     * @return the attendance, or whether it hasn't been reported
+     */
+    public String friendlyAttendance() {
+        if (isFinal() && attendance == -1) {
+            return "Not Reported";
+        } else if (attendance == -1) {
+            return "Not Yet Reported";
+        } else {
+            return MiscUtil.delimitNumber(attendance);
+        }
+    }
+
+    /**
+     * Shows the weather for this game, if available
+     *
+     * @return the weather as a few lines of text
+     */
+    public String weather() {
+        if (conditions == null) {
+            return "No Information Available";
+        }
+
+        String conditionEmoji = switch (conditions.condition()) {
+            case "Clear", "Sunny" -> "☀️";
+            case "Cloudy" -> "☁️";
+            case "Drizzle" -> "⛈️";
+            case "Overcast" -> "🌥️";
+            case "Partly Cloudy" -> "⛅";
+            case "Rain" -> "🌧️";
+            case "Snow" -> "🌨️";
+            default -> "";
+        };
+
+        int tempF = conditions.temp();
+        double tempC = Math.round((tempF - 32) * 5.0 / 9.0 * 10) / 10.0;
+        String temperature = "%s ºF (%s ºC)".formatted(tempF, tempC);
+
+        return """
+            Condition: %s %s
+            Temp: %s
+            Wind: %s
+            """.formatted(conditionEmoji, conditions.condition(), temperature, conditions.wind());
+    }
+
+    private static JSONObject object(JSONObject parent, String key) {
+        JSONObject child = parent.optJSONObject(key);
+        return child == null ? new JSONObject() : child;
+    }
+
+    private static String name(JSONObject parent, String key) {
+        return object(parent, key).optString("fullName", "");
+    }
+
+    private static String nullableName(JSONObject parent, String key) {
+        JSONObject person = parent.optJSONObject(key);
+        return person == null ? null : person.optString("fullName", null);
+    }
+
+    /**
+     * Reads a live feed into a snapshot. Plays are fed in one at a time, in order, so they don't all have to be kept
+     * around, then the rest of the feed is read by {@link #build(JSONObject)}.
+     */
+    private static class Reader {
+        private final String gamePk;
+        private final List<Advisory> advisories = new ArrayList<>();
+        private JSONObject lastCompleted;
+
+        Reader(String gamePk) {
+            this.gamePk = gamePk;
+        }
+
+        /**
+         * Reads the next play, collecting its advisories and remembering it if it's completed.
+         *
+         * @param play the play
+         */
+        void play(JSONObject play) {
+            if (object(play, "about").optBoolean("isComplete", false)) {
+                lastCompleted = play;
+            }
+
+            JSONArray playEvents = play.optJSONArray("playEvents");
+            if (playEvents == null) return;
+            for (int i = 0; i < playEvents.length(); i++) {
+                Advisory advisory = Advisory.from(playEvents.getJSONObject(i));
+                if (advisory != null) {
+                    advisories.add(advisory);
+                }
+            }
+        }
+
+        /**
+         * Builds the snapshot. Any plays in the feed are ignored, they should have been passed to {@link #play(JSONObject)}.
+         *
+         * @param feed the live feed
+         * @return the snapshot
+         */
+        GameSnapshot build(JSONObject feed) {
+            JSONObject gameData = feed.optJSONObject("gameData");
+            if (gameData == null) {
+                return failed(gamePk);
+            }
+
+            JSONObject liveData = object(feed, "liveData");
+            JSONObject lineScore = object(liveData, "linescore");
+            JSONObject currentPlay = object(object(liveData, "plays"), "currentPlay");
+            JSONObject count = object(currentPlay, "count");
+            JSONObject matchup = object(currentPlay, "matchup");
+            JSONObject offense = object(lineScore, "offense");
+
+            JSONObject status = object(gameData, "status");
+            String abstractState = status.optString("abstractGameState", "");
+            String dateTime = object(gameData, "datetime").optString("dateTime", null);
+
+            List<Inning> innings = new ArrayList<>();
+            JSONArray inningData = lineScore.optJSONArray("innings");
+            if (inningData != null) {
+                for (int i = 0; i < inningData.length(); i++) {
+                    JSONObject inning = inningData.getJSONObject(i);
+                    innings.add(new Inning(object(inning, "away").optString("runs", "-"), object(inning, "home").optString("runs", "-")));
+                }
+            }
+
+            JSONObject lineTeams = object(lineScore, "teams");
+            JSONObject teams = object(gameData, "teams");
+
+            return new GameSnapshot(
+                gamePk, false,
+                abstractState, status.optString("detailedState", ""),
+                dateTime == null ? null : OffsetDateTime.parse(dateTime, DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                Team.from(object(teams, "away"), object(lineTeams, "away")),
+                Team.from(object(teams, "home"), object(lineTeams, "home")),
+                lineScore.optInt("currentInning", 0), lineScore.optString("currentInningOrdinal", ""), lineScore.optString("inningState", ""),
+                count.optInt("balls", 0), count.optInt("strikes", 0), count.optInt("outs", 0),
+                name(matchup, "pitcher"), name(matchup, "batter"),
+                new Offense(name(offense, "batter"), name(offense, "onDeck"), name(offense, "inHole")),
+                new Runners(nullableName(matchup, "postOnFirst"), nullableName(matchup, "postOnSecond"), nullableName(matchup, "postOnThird")),
+                lastCompleted == null ? null : Play.from(lastCompleted),
+                Collections.unmodifiableList(advisories), Collections.unmodifiableList(innings),
+                object(gameData, "gameInfo").optInt("attendance", -1),
+                Weather.from(gameData.optJSONObject("weather")),
+                abstractState.equals("Final") ? decisions(liveData) : ""
+            );
+        }
+
+        private static String decisions(JSONObject liveData) {
+            JSONObject decisions = liveData.optJSONObject("decisions");
+            JSONObject boxscore = liveData.optJSONObject("boxscore");
+            if (decisions == null || boxscore == null) {
+                return "";
+            }
+
+            try {
+                return GameState.decisions(decisions, boxscore);
+            } catch (JSONException e) {
+                return "";
+            }
+        }
+    }
+
+    /**
+     * A team in this game.
+     *
+     * @param id the team's ID
+     * @param name the team's full name, e.g. "Los Angeles Dodgers"
+     * @param abbreviation the team's abbreviation, e.g. "LAD"
+     * @param clubName the team's club name, e.g. "Dodgers"
+     * @param runs the runs scored
+     * @param hits the hits
+     * @param errors the errors
+     * @param leftOnBase the runners left on base
+     */
+    public record Team(int id, String name, String abbreviation, String clubName, int runs, int hits, int errors, int leftOnBase) {
+        static Team from(JSONObject gameData, JSONObject lineData) {
+            return new Team(
+                gameData.optInt("id", 0), gameData.optString("name", ""), gameData.optString("abbreviation", ""), gameData.optString("clubName", ""),
+                lineData.optInt("runs", 0), lineData.optInt("hits", 0), lineData.optInt("errors", 0), lineData.optInt("leftOnBase", 0)
+            );
+        }
+    }
+
+    /**
+     * The next batters up for the offense.
+     *
+     * @param batter the next batter
+     * @param onDeck the batter on deck
+     * @param inHole the batter in the hole
+     */
+    public record Offense(String batter, String onDeck, String inHole) {}
+
+    /**
+     * The runners currently on base. Null means the base is empty.
+     *
+     * @param first the runner on first
+     * @param second the runner on second
+     * @param third the runner on third
+     */
+    public record Runners(@Nullable String first, @Nullable String second, @Nullable String third) {}
+
+    /**
+     * A completed play.
+     *
+     * @param atBatIndex the "at bat" index of this play
+     * @param description the play's description
+     * @param inPlay whether the ball was put in play
+     * @param hit the statcast hit data, null if there is none
+     */
+    public record Play(int atBatIndex, String description, boolean inPlay, @Nullable Hit hit) {
+        static Play from(JSONObject play) {
+            boolean inPlay = false;
+            Hit hit = null;
+            boolean checkedHit = false;
+
+            JSONArray playEvents = play.optJSONArray("playEvents");
+            if (playEvents != null) {
+                for (int i = 0; i < playEvents.length(); i++) {
+                    JSONObject event = playEvents.getJSONObject(i);
+
+                    // Some pitches don't have isInPlay
+                    if (object(event, "details").optBoolean("isInPlay", false)) {
+                        inPlay = true;
+                    }
+
+                    // Only the first event with hit data counts
+                    JSONObject hitData = event.optJSONObject("hitData");
+                    if (!checkedHit && hitData != null) {
+                        checkedHit = true;
+                        if (hitData.has("launchSpeed") && hitData.has("launchAngle") && hitData.has("totalDistance")) {
+                            hit = new Hit(event.optString("playId", ""), hitData.getFloat("launchSpeed"), hitData.getFloat("launchAngle"), hitData.getFloat("totalDistance"));
+                        }
+                    }
+                }
+            }
+
+            return new Play(object(play, "about").optInt("atBatIndex", -1), object(play, "result").optString("description", ""), inPlay, hit);
+        }
+    }
+
+    /**
+     * Statcast data for a hit.
+     *
+     * @param playId the statcast play ID
+     * @param launchSpeed the exit velocity in mph
+     * @param launchAngle the launch angle in degrees
+     * @param totalDistance the distance travelled in feet
+     */
+    public record Hit(String playId, float launchSpeed, float launchAngle, float totalDistance) {}
+
+    /**
+     * A game advisory, e.g. a mound visit or defensive change.
+     *
+     * @param event the event name
+     * @param description the event description
+     * @param scoringPlay whether a run scored
+     * @param awayScore the away score after this event
+     * @param homeScore the home score after this event
+     */
+    public record Advisory(String event, String description, boolean scoringPlay, int awayScore, int homeScore) {
+        /**
+         * Reads an advisory from a play event.
+         *
+         * @param event the play event
+         * @return the advisory, or null if this event is a pitch or not an advisory
+         */
+        @Nullable
+        static Advisory from(JSONObject event) {
+            if (event.optBoolean("isPitch", false)) {
+                return null;
+            }
+
+            JSONObject details = event.optJSONObject("details");
+            if (details == null || !details.has("event") || !details.has("eventType")) {
+                return null;
+            }
+
+            return new Advisory(
+                details.getString("event"), details.optString("description", ""),
+                details.optBoolean("isScoringPlay", false), details.optInt("awayScore", 0), details.optInt("homeScore", 0)
+            );
+        }
+    }
+
+    /**
+     * The runs scored in one inning, "-" if that half hasn't been played.
+     *
+     * @param awayRuns the away team's runs
+     * @param homeRuns the home team's runs
+     */
+    public record Inning(String awayRuns, String homeRuns) {}
+
+    /**
+     * The weather for the game.
+     *
+     * @param condition the condition, e.g. "Sunny"
+     * @param temp the temperature in Fahrenheit
+     * @param wind the wind, e.g. "5 mph, Out To CF"
+     */
+    public record Weather(String condition, int temp, String wind) {
+        @Nullable
+        static Weather from(@Nullable JSONObject weather) {
+            if (weather == null || weather.isEmpty()) {
+                return null;
+            }
+
+            return new Weather(weather.optString("condition", ""), weather.optInt("temp", 0), weather.optString("wind", ""));
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Wrapper around MLB's game data to make it easier to access.
@@ -23,24 +24,30 @@ import java.util.List;
  */
 public record GameState(JSONObject gameData, String gamePk) {
     /**
-     * Retrieves the latest game data for the provided game PK (ID)
+     * The live feed, filtered down to the fields we use. ":id" is the gamePk.
+     */
+    static final String FEED_URL = "https://statsapi.mlb.com/api/v1.1/game/:id/feed/live?language=en&fields=gameData,venue,fieldInfo,capacity,weather,condition,temp,wind,gameInfo,attendance,game,pk,datetime,dateTime,status,detailedState,abstractGameState,liveData,plays,allPlays,result,rbi,description,awayScore,homeScore,event,about,inning,isTopInning,isComplete,count,balls,strikes,outs,playEvents,details,isInPlay,isScoringPlay,eventType,hitData,launchSpeed,launchAngle,totalDistance,trajectory,hardness,isPitch,atBatIndex,playId,currentPlay,scoringPlays,matchup,batter,fullName,pitcher,postOnFirst,postOnSecond,postOnThird,linescore,offense,onDeck,inHole,currentInning,currentInningOrdinal,inningState,teams,home,name,clubName,abbreviation,runs,away,innings,num,hits,errors,leftOnBase,decisions,winner,id,loser,save,boxscore,players,stats,pitching,note";
+
+    /**
+     * Retrieves the latest game data for the provided game PK (ID) without blocking the calling thread.
      *
      * @param gamePk The gamePk of the game to get the state of
-     * @return The game state
+     * @return A future that completes with the game state, which might have {@link #failed()}
      */
     @NotNull
-    public static GameState fromPk(String gamePk) {
-        String res = RestClient.get("https://statsapi.mlb.com/api/v1.1/game/:id/feed/live?language=en&fields=gameData,venue,fieldInfo,capacity,weather,condition,temp,wind,gameInfo,attendance,game,pk,datetime,dateTime,status,detailedState,abstractGameState,liveData,plays,allPlays,result,rbi,description,awayScore,homeScore,event,about,inning,isTopInning,isComplete,count,balls,strikes,outs,playEvents,details,isInPlay,isScoringPlay,eventType,hitData,launchSpeed,launchAngle,totalDistance,trajectory,hardness,isPitch,atBatIndex,playId,currentPlay,scoringPlays,matchup,batter,fullName,pitcher,postOnFirst,postOnSecond,postOnThird,linescore,offense,onDeck,inHole,currentInning,currentInningOrdinal,inningState,teams,home,name,clubName,abbreviation,runs,away,innings,num,hits,errors,leftOnBase,decisions,winner,id,loser,save,boxscore,players,stats,pitching,note"
-            .replace(":id", gamePk)).asString();
+    public static CompletableFuture<GameState> fromPkAsync(String gamePk) {
+        return RestClient.getAsync(FEED_URL.replace(":id", gamePk)).thenApply(response -> {
+            String res = response.asString();
 
-        try {
-            JSONObject json = new JSONObject(res);
+            try {
+                JSONObject json = new JSONObject(res);
 
-            return new GameState(json, gamePk);
-        } catch (JSONException e) {
-            LoggerFactory.getLogger(GameState.class).error("Failed to parse game data (error: {}): {}", e, res);
-            return new GameState(new JSONObject(), gamePk);
-        }
+                return new GameState(json, gamePk);
+            } catch (JSONException e) {
+                LoggerFactory.getLogger(GameState.class).error("Failed to parse game data (error: {}): {}", e, res);
+                return new GameState(new JSONObject(), gamePk);
+            }
+        });
     }
 
     /**
@@ -593,12 +600,22 @@ public record GameState(JSONObject gameData, String gamePk) {
      * @return The decisions of the game
      */
     public String decisions() {
-        JSONObject decisions = gameData().getJSONObject("liveData").getJSONObject("decisions");
+        JSONObject liveData = gameData().getJSONObject("liveData");
+        return decisions(liveData.getJSONObject("decisions"), liveData.getJSONObject("boxscore"));
+    }
 
+    /**
+     * Builds the decisions from the live feed's decisions and box score.
+     *
+     * @param decisions the "decisions" object of the live feed
+     * @param boxscore the "boxscore" object of the live feed, only the pitching notes are needed
+     * @return the decisions, one per line
+     */
+    static String decisions(JSONObject decisions, JSONObject boxscore) {
         List<String> response = new ArrayList<>();
 
-        JSONObject awayPlayers = gameData().getJSONObject("liveData").getJSONObject("boxscore").getJSONObject("teams").getJSONObject("away").getJSONObject("players");
-        JSONObject homePlayers = gameData().getJSONObject("liveData").getJSONObject("boxscore").getJSONObject("teams").getJSONObject("home").getJSONObject("players");
+        JSONObject awayPlayers = boxscore.getJSONObject("teams").getJSONObject("away").getJSONObject("players");
+        JSONObject homePlayers = boxscore.getJSONObject("teams").getJSONObject("home").getJSONObject("players");
 
         for (String key : decisions.keySet()) {
             JSONObject decision = decisions.getJSONObject(key);
@@ -1,7 +1,16 @@
 package pw.chew.mlb.objects;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import net.dv8tion.jda.api.entities.Icon;
 import net.dv8tion.jda.api.utils.FileUpload;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.HTreeMap;
+import org.mapdb.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
 import pw.chew.mlb.commands.GameInfoCommand;
 
 import javax.imageio.ImageIO;
@@ -9,97 +18,192 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Image;
-import java.awt.MediaTracker;
 import java.awt.RenderingHints;
-import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.time.Duration;
 
 public class ImageUtil {
+    private static final Logger logger = LoggerFactory.getLogger(ImageUtil.class);
+    private static final String LOGO_URL = "https://midfield.mlbstatic.com/v1/team/%s/spots/256";
     /**
-     * Creates a match up banner for the given teams
+     * How long a logo on disk is used before it's downloaded again.
+     */
+    private static final Duration LOGO_REFRESH = Duration.ofDays(30);
+
+    private static final DB db = DBMaker.fileDB("images.db").fileMmapEnable().closeOnJvmShutdown().checksumHeaderBypass().make();
+    /**
+     * A map of team IDs to their logo, as downloaded.
+     */
+    private static final HTreeMap<Integer, byte[]> logoFiles = db
+        .hashMap("logos", Serializer.INTEGER, Serializer.BYTE_ARRAY)
+        .createOrOpen();
+    /**
+     * A map of team IDs to the background color of their logo, as RGB.
+     */
+    private static final HTreeMap<Integer, Integer> logoColors = db
+        .hashMap("colors", Serializer.INTEGER, Serializer.INTEGER)
+        .createOrOpen();
+    /**
+     * A map of team IDs to when their logo was downloaded, in epoch milliseconds.
+     */
+    private static final HTreeMap<Integer, Long> logoFetched = db
+        .hashMap("fetched", Serializer.INTEGER, Serializer.LONG)
+        .createOrOpen();
+
+    /**
+     * Decoded logos, by team ID. Reloaded daily, so a logo that's due for {@link #LOGO_REFRESH} is downloaded again.
+     */
+    private static final Cache<Integer, Logo> logos = Caffeine.newBuilder()
+        .maximumSize(64)
+        .expireAfterWrite(Duration.ofDays(1))
+        .build();
+    /**
+     * Encoded banners. Teams play a few games in a row against each other, so the same banner is asked for again soon.
+     * They're redrawn a week after being drawn, so a refreshed logo shows up even for a banner that's in constant use.
+     */
+    private static final Cache<Matchup, byte[]> banners = Caffeine.newBuilder()
+        .maximumSize(32)
+        .expireAfterWrite(Duration.ofDays(7))
+        .build();
+
+    /**
+     * Creates a match up banner for the given teams. Banners are cached, so asking again for the same teams is free.
      *
      * @param awayId the away team ID
      * @param homeId the home team ID
-     * @return a FileUpload of the banner
+     * @return a FileUpload of the banner, or null if it couldn't be made
      */
     public static GeneratedImage matchUpBanner(int awayId, int homeId) {
-        Graphics g;
-
-        BufferedImage image = new BufferedImage(1600, 640, BufferedImage.TYPE_INT_RGB);
-        g = image.createGraphics();  // not sure on this line, but this seems more right
-
-        // Add team logos
-        // Add images to the imageBufferedImage
-        // download https://midfield.mlbstatic.com/v1/team/140/spots/256 (a png)
-        Image awayLogo = null, homeLogo = null;
-        try {
-            // now we can get the photos
-            awayLogo = Toolkit.getDefaultToolkit().createImage(new URL("https://midfield.mlbstatic.com/v1/team/%s/spots/256".formatted(awayId)));
-            homeLogo = Toolkit.getDefaultToolkit().createImage(new URL("https://midfield.mlbstatic.com/v1/team/%s/spots/256".formatted(homeId)));
-
-            // wait for the images to load
-            MediaTracker tracker = new MediaTracker(new java.awt.Container());
-            tracker.addImage(awayLogo, 0);
-            tracker.addImage(homeLogo, 0);
+        byte[] banner = banners.get(new Matchup(awayId, homeId), ImageUtil::drawBanner);
+        if (banner == null) {
+            return null;
+        }
 
-            tracker.waitForAll();
+        return new GeneratedImage(new ByteArrayInputStream(banner));
+    }
 
-            Toolkit.getDefaultToolkit().prepareImage(awayLogo, -1, -1, null);
-            Toolkit.getDefaultToolkit().prepareImage(homeLogo, -1, -1, null);
-        } catch (MalformedURLException | InterruptedException ignored) {}
+    /**
+     * Draws a match up banner and encodes it as a PNG.
+     *
+     * @param matchup the teams
+     * @return the PNG, or null if a logo is missing or encoding failed
+     */
+    private static byte[] drawBanner(Matchup matchup) {
+        Logo awayLogo = logos.get(matchup.awayId(), ImageUtil::loadLogo);
+        Logo homeLogo = logos.get(matchup.homeId(), ImageUtil::loadLogo);
         if (awayLogo == null || homeLogo == null) {
             return null;
         }
 
-        // grab the background color, by getting the color of the pixel at 0,0
-        // this is the color of the background of the logos
-        // we can't do getGraphics(), because it's not valid since we used createImage()
-        // first we make the rangersLogo a BufferedImage, then we get the color of the pixel at 0,0
-        BufferedImage awayLogoBufferedImage = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
-        awayLogoBufferedImage.getGraphics().drawImage(awayLogo, 0, 0, null);
-        Color awayColor = new Color(awayLogoBufferedImage.getRGB(128, 10));
+        Graphics g;
 
-        BufferedImage homeLogoBufferedImage = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
-        homeLogoBufferedImage.getGraphics().drawImage(homeLogo, 0, 0, null);
-        Color homeColor = new Color(homeLogoBufferedImage.getRGB(128, 10));
+        BufferedImage image = new BufferedImage(1600, 640, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();  // not sure on this line, but this seems more right
 
         // AWAY TEAM
-        g.setColor(awayColor);
+        g.setColor(awayLogo.background());
 
         // The colors will be split down the middle, at about 400px, but the line is at a 10degree angle
         g.fillPolygon(new int[]{0, 900, 700, 0}, new int[]{0, 0, 640, 640}, 4);
 
         // HOME TEAM
-        g.setColor(homeColor);
+        g.setColor(homeLogo.background());
         g.fillPolygon(new int[]{1600, 900, 700, 1600}, new int[]{0, 0, 640, 640}, 4);
 
         // White line down the middle lol
         g.setColor(Color.WHITE);
         g.fillPolygon(new int[]{890, 900, 710, 700}, new int[]{0, 0, 640, 640}, 4);
 
-        g.drawImage(awayLogo, 220, 140, 360, 360, null);
-        g.drawImage(homeLogo, 1050, 140, 360, 360, null);
+        g.drawImage(awayLogo.image(), 220, 140, 360, 360, null);
+        g.drawImage(homeLogo.image(), 1050, 140, 360, 360, null);
+        g.dispose();
 
-        // Convert BufferedImage to InputStream
         ByteArrayOutputStream os = new ByteArrayOutputStream();
         try {
             ImageIO.write(image, "png", os);
-            InputStream is = new ByteArrayInputStream(os.toByteArray());
-
-            return new GeneratedImage(is);
+            return os.toByteArray();
         } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    /**
+     * Loads a team's logo, from disk if we have a recent copy, otherwise by downloading it.
+     * If downloading fails, an older copy on disk is used instead.
+     *
+     * @param teamId the team ID
+     * @return the logo, or null if we don't have one
+     */
+    private static Logo loadLogo(int teamId) {
+        byte[] stored = logoFiles.get(teamId);
+        Long fetched = logoFetched.get(teamId);
+
+        if (stored == null || fetched == null || System.currentTimeMillis() - fetched > LOGO_REFRESH.toMillis()) {
+            try {
+                byte[] downloaded = RestClient.stream(LOGO_URL.formatted(teamId), (code, body) -> {
+                    if (code != 200) throw new IOException("Got HTTP " + code);
+                    return body.readAllBytes();
+                });
+
+                // Make sure it's valid before storing it
+                Logo logo = decode(downloaded, null);
+                logoFiles.put(teamId, downloaded);
+                logoColors.put(teamId, logo.background().getRGB());
+                logoFetched.put(teamId, System.currentTimeMillis());
+                return logo;
+            } catch (IOException | RuntimeException e) {
+                if (stored == null) {
+                    logger.warn("Failed to download the logo for team {}", teamId, e);
+                    return null;
+                }
+                logger.warn("Failed to download the logo for team {}, using the stored copy", teamId, e);
+            }
+        }
+
+        try {
+            return decode(stored, logoColors.get(teamId));
+        } catch (IOException e) {
+            logger.warn("Stored logo for team {} is invalid", teamId, e);
+            logoFetched.remove(teamId);
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a logo, sampling its background color if we don't know it yet.
+     *
+     * @param bytes the encoded logo
+     * @param background the background color as RGB, or null to sample it
+     * @throws IOException if it isn't an image
+     * @return the logo
+     */
+    private static Logo decode(byte[] bytes, Integer background) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (image == null) {
+            throw new IOException("Not an image");
+        }
+
+        if (background != null) {
+            return new Logo(image, new Color(background));
+        }
+
+        // grab the background color, from the pixel near the top middle of the logo
+        // the banner is drawn on black, so a transparent pixel is blended onto black
+        int argb = image.getRGB(image.getWidth() / 2, Math.min(10, image.getHeight() - 1));
+        int alpha = argb >>> 24;
+        Color color = new Color(
+            ((argb >> 16) & 0xFF) * alpha / 255,
+            ((argb >> 8) & 0xFF) * alpha / 255,
+            (argb & 0xFF) * alpha / 255
+        );
+        return new Logo(image, color);
+    }
+
     /**
      * Converts a table (2D Array) of data into an image.
      *
@@ -191,6 +295,16 @@ public class ImageUtil {
         }
     }
 
+    /**
+     * A decoded team logo.
+     *
+     * @param image the logo
+     * @param background the color behind the logo, used to fill its side of the banner
+     */
+    private record Logo(BufferedImage image, Color background) {}
+
+    private record Matchup(int awayId, int homeId) {}
+
     public record GeneratedImage(InputStream stream) {
         public boolean failed() {
             return stream == null;
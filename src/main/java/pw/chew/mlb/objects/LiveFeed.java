@@ -0,0 +1,249 @@
+package pw.chew.mlb.objects;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.MiscUtil;
+import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.util.JsonPatch;
+import pw.chew.mlb.util.JsonStream;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps an in-memory copy of a game's live feed, and keeps it up to date using statsapi's diffPatch endpoint.
+ * <br>
+ * Only the first poll downloads the whole feed. After that, each poll asks for the changes since the last
+ * {@code metaData.timeStamp} we saw and patches them onto our copy. If a patch doesn't apply, our copy has diverged,
+ * and we fall back to a full fetch.
+ * <br>
+ * Full fetches can't use the {@code fields} filter from {@link GameState#FEED_URL}. diffPatch has no such filter, and its
+ * patches point into the unfiltered feed. The filter matches field names at any depth, so a filtered copy would be
+ * missing keys inside the objects we keep whole (like a play's {@code details}) and patches to them wouldn't apply.
+ * Instead, the unfiltered feed is read with {@link JsonStream}, keeping only what a {@link GameSnapshot} reads plus the
+ * timecode, and patches to anything else are skipped. That keeps our copy about the size of a filtered fetch, though
+ * the download itself is larger. {@link #stats()} samples a filtered fetch once per game to compare against.
+ * <br>
+ * Each new version of the feed is read into a {@link GameSnapshot} once. Polls where nothing changed return the same
+ * snapshot again without touching the JSON.
+ */
+public class LiveFeed {
+    private static final Logger logger = LoggerFactory.getLogger(LiveFeed.class);
+    private static final String FULL_URL = "https://statsapi.mlb.com/api/v1.1/game/%s/feed/live?language=en";
+    private static final String DIFF_URL = "https://statsapi.mlb.com/api/v1.1/game/%s/feed/live/diffPatch?language=en&startTimecode=%s";
+    /**
+     * What we keep of the feed.
+     */
+    private static final JsonStream.Selection KEPT = GameSnapshot.selection(null)
+        .with("metaData", JsonStream.Selection.of("timeStamp"));
+
+    /// STATS ///
+    private static final FetchStats fullStats = new FetchStats();
+    private static final FetchStats patchStats = new FetchStats();
+    private static final FetchStats filteredStats = new FetchStats();
+    private static final LongAdder divergences = new LongAdder();
+
+    private final String gamePk;
+    private JSONObject document;
+    private GameSnapshot snapshot;
+    private String timecode;
+    /**
+     * The last response we read. RestClient hands back the same Response when it's cached or unchanged (304).
+     */
+    private RestClient.Response lastResponse;
+    private boolean sampled;
+
+    public LiveFeed(String gamePk) {
+        this.gamePk = gamePk;
+    }
+
+    /**
+     * Retrieves the latest game snapshot, only downloading what changed since the last poll if possible.
+     * Returns a failed snapshot if MLB can't be reached, in which case the next poll picks up where this one left off.
+     *
+     * @return the latest game snapshot
+     */
+    public GameSnapshot poll() {
+        try {
+            if (document == null || timecode == null) {
+                return fullFetch();
+            }
+
+            try {
+                return patch();
+            } catch (IllegalStateException | JSONException e) {
+                divergences.increment();
+                logger.debug("Live feed for gamePk {} diverged ({}), re-fetching", gamePk, e.getMessage());
+                return fullFetch();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to poll live feed for gamePk {}: {}", gamePk, e.getMessage());
+            return GameSnapshot.failed(gamePk);
+        }
+    }
+
+    /**
+     * Downloads the entire feed and replaces our copy with it.
+     *
+     * @return the new snapshot
+     */
+    private GameSnapshot fullFetch() {
+        RestClient.Response response = RestClient.get(FULL_URL.formatted(gamePk));
+        if (!response.success()) {
+            return GameSnapshot.failed(gamePk);
+        }
+        if (response == lastResponse && snapshot != null) {
+            return snapshot;
+        }
+        lastResponse = response;
+
+        String body = response.asString();
+        long start = System.nanoTime();
+        JSONObject fetched = JsonStream.read(body, KEPT);
+        fullStats.record(body.length(), System.nanoTime() - start);
+
+        if (!sampled) {
+            sampled = true;
+            sampleFiltered();
+        }
+
+        return update(fetched, timecode(fetched));
+    }
+
+    /**
+     * Fetches the filtered feed in the background, only to record how it compares to our full fetches and patches.
+     */
+    private void sampleFiltered() {
+        RestClient.getAsync(GameState.FEED_URL.replace(":id", gamePk)).thenAccept(response -> {
+            if (!response.success()) return;
+
+            String body = response.asString();
+            long start = System.nanoTime();
+            new JSONObject(body);
+            filteredStats.record(body.length(), System.nanoTime() - start);
+        }).exceptionally(e -> {
+            logger.debug("Failed to sample the filtered feed for gamePk {}: {}", gamePk, e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Downloads the changes since our last timecode and applies them to our copy.
+     *
+     * @return the patched snapshot
+     * @throws IllegalStateException if the changes can't be applied
+     */
+    private GameSnapshot patch() {
+        RestClient.Response response = RestClient.get(DIFF_URL.formatted(gamePk, timecode));
+        if (!response.success()) {
+            throw new IllegalStateException("diffPatch returned " + response.code());
+        }
+        if (response == lastResponse) {
+            // Same timecode and an unchanged response, so there's nothing new to apply
+            return snapshot;
+        }
+        lastResponse = response;
+
+        String body = response.asString();
+        long start = System.nanoTime();
+
+        JSONObject patched = document;
+        char first = new JSONTokener(body).nextClean();
+        if (first == '[') {
+            JSONArray patches = new JSONArray(body);
+            // No patches means nothing changed
+            if (patches.isEmpty()) {
+                patchStats.record(body.length(), System.nanoTime() - start);
+                return snapshot;
+            }
+
+            for (int i = 0; i < patches.length(); i++) {
+                patched = JsonPatch.apply(patched, patches.getJSONObject(i).getJSONArray("diff"), KEPT);
+            }
+        } else if (first == '{') {
+            // statsapi sends the whole feed back if it can't diff from our timecode
+            patched = JsonStream.read(body, KEPT);
+        } else {
+            throw new IllegalStateException("Unexpected diffPatch response");
+        }
+
+        String newTimecode = timecode(patched);
+        if (newTimecode == null || !patched.has("gameData")) {
+            throw new IllegalStateException("Patched feed is missing its game data");
+        }
+        patchStats.record(body.length(), System.nanoTime() - start);
+
+        return update(patched, newTimecode);
+    }
+
+    /**
+     * Replaces our copy of the feed and reads it into a new snapshot.
+     *
+     * @param newDocument the new feed
+     * @param newTimecode the feed's timecode
+     * @return the new snapshot
+     */
+    private GameSnapshot update(JSONObject newDocument, String newTimecode) {
+        document = newDocument;
+        timecode = newTimecode;
+        snapshot = GameSnapshot.from(newDocument, gamePk);
+        return snapshot;
+    }
+
+    private static String timecode(JSONObject document) {
+        JSONObject metaData = document.optJSONObject("metaData");
+        return metaData == null ? null : metaData.optString("timeStamp", null);
+    }
+
+    /**
+     * Summarizes payload size and parse time of full fetches versus patches, across every game. "Filtered" is what every
+     * poll would cost without patching, a fetch of {@link GameState#FEED_URL}, sampled once per game.
+     *
+     * @return a friendly summary
+     */
+    public static String stats() {
+        return """
+            Full: %s fetches, avg %s, avg %s ms parse
+            Patch: %s fetches, avg %s, avg %s ms parse
+            Filtered: %s samples, avg %s, avg %s ms parse
+            Divergences: %s
+            """.formatted(
+            fullStats.count(), MiscUtil.bytesToFriendly(fullStats.averageBytes()), fullStats.averageMillis(),
+            patchStats.count(), MiscUtil.bytesToFriendly(patchStats.averageBytes()), patchStats.averageMillis(),
+            filteredStats.count(), MiscUtil.bytesToFriendly(filteredStats.averageBytes()), filteredStats.averageMillis(),
+            divergences.sum()
+        );
+    }
+
+    /**
+     * Running totals for one kind of fetch.
+     */
+    private static class FetchStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(long size, long parseNanos) {
+            count.increment();
+            bytes.add(size);
+            nanos.add(parseNanos);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long averageBytes() {
+            long total = count.sum();
+            return total == 0 ? 0 : bytes.sum() / total;
+        }
+
+        String averageMillis() {
+            long total = count.sum();
+            return total == 0 ? "0" : "%.2f".formatted(nanos.sum() / (double) total / 1_000_000);
+        }
+    }
+}
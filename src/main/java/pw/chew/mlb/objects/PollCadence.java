@@ -0,0 +1,119 @@
+package pw.chew.mlb.objects;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often a game should be polled, based on what is currently happening in it.
+ * <br>
+ * Live plate appearances are polled quickly so plays show up fast, while breaks, delays and pre-game are polled
+ * slowly since nothing we post about happens during them.
+ */
+public enum PollCadence {
+    /**
+     * The at-bat is one pitch away from ending (3 balls or 2 strikes).
+     */
+    DECISIVE_COUNT(Duration.ofSeconds(4)),
+    /**
+     * A plate appearance is in progress.
+     */
+    LIVE(Duration.ofSeconds(6)),
+    /**
+     * Between half-innings.
+     */
+    INNING_BREAK(Duration.ofSeconds(20)),
+    /**
+     * Warming up, or first pitch is close.
+     */
+    WARMUP(Duration.ofSeconds(20)),
+    /**
+     * The game is delayed, e.g. for rain.
+     */
+    DELAYED(Duration.ofSeconds(60)),
+    /**
+     * First pitch is still a while away.
+     */
+    PRE_GAME(Duration.ofSeconds(60)),
+    /**
+     * We couldn't tell what's going on, so poll at the old fixed rate.
+     */
+    UNKNOWN(Duration.ofSeconds(10));
+
+    /**
+     * How close to first pitch a scheduled game starts being polled at {@link #WARMUP} speed.
+     */
+    private static final Duration WARMUP_WINDOW = Duration.ofMinutes(15);
+    /**
+     * How far, as a fraction of the interval, each poll may randomly land before or after it.
+     */
+    private static final double JITTER = 0.1;
+
+    private final Duration interval;
+
+    PollCadence(Duration interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * The time to wait between polls at this cadence.
+     *
+     * @return the poll interval
+     */
+    public Duration interval() {
+        return interval;
+    }
+
+    /**
+     * The time to wait until the next poll at this cadence: the interval, give or take up to 10%.
+     * Without this, games that resumed together stay in lockstep and all hit statsapi in the same instant.
+     *
+     * @return the delay until the next poll
+     */
+    public Duration nextDelay() {
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return Duration.ofMillis(Math.round(interval.toMillis() * factor));
+    }
+
+    /**
+     * Determines the cadence for a game.
+     *
+     * @param state the latest snapshot of the game
+     * @return the cadence to poll the game at
+     */
+    public static PollCadence of(GameSnapshot state) {
+        if (state.failed()) {
+            return UNKNOWN;
+        }
+
+        String detailedState = state.detailedState();
+
+        if (detailedState.contains("Delay")) {
+            return DELAYED;
+        }
+
+        if (detailedState.equals("Warmup")) {
+            return WARMUP;
+        }
+
+        if (state.isScheduled()) {
+            if (state.officialDate() == null) {
+                return PRE_GAME;
+            }
+
+            boolean startingSoon = OffsetDateTime.now().isAfter(state.officialDate().minus(WARMUP_WINDOW));
+            return startingSoon ? WARMUP : PRE_GAME;
+        }
+
+        String inningState = state.inningState();
+        if (inningState.equals("Middle") || inningState.equals("End")) {
+            return INNING_BREAK;
+        }
+
+        if (state.balls() == 3 || state.strikes() == 2) {
+            return DECISIVE_COUNT;
+        }
+
+        return LIVE;
+    }
+}
@@ -1,15 +1,20 @@
 package pw.chew.mlb.objects;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.hibernate.Transaction;
 import org.slf4j.LoggerFactory;
 import pw.chew.chewbotcca.util.DatabaseHelper;
 import pw.chew.mlb.MLBBot;
 import pw.chew.mlb.models.Server;
 
-import java.util.HashMap;
+import java.time.Duration;
 
 public class ServerConfig {
-    static final HashMap<String, ServerConfig> cache = new HashMap<>();
+    static final Cache<String, ServerConfig> cache = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterAccess(Duration.ofDays(1))
+        .build();
     final Server data;
     public ServerConfig(Server input) {
         data = input;
@@ -23,11 +28,7 @@ public class ServerConfig {
      * @return the config for the specified server
      */
     public static ServerConfig getConfig(String id, boolean createIfNotExists) {
-        if (cache.containsKey(id)) {
-            return cache.get(id);
-        } else {
-            return retrieveServer(id, createIfNotExists);
-        }
+        return cache.get(id, key -> retrieveServer(key, createIfNotExists));
     }
 
     /**
@@ -37,11 +38,11 @@ public class ServerConfig {
      * @return a possibly null channel
      */
     public static ServerConfig getServerIfCached(String id) {
-        return cache.get(id);
+        return cache.getIfPresent(id);
     }
 
     /**
-     * Retrieve server info
+     * Retrieve server info. This goes to the database, use {@link #getConfig(String, boolean)} to get it cached.
      * @param serverId the server id
      * @return a server settings
      */
@@ -50,6 +51,7 @@ public class ServerConfig {
         var session = DatabaseHelper.getSessionFactory().openSession();
         Server server = session.find(Server.class, id);
         if (server == null && !createIfNotExists) {
+            session.close();
             return null;
         }
         if (server == null) {
@@ -61,7 +63,6 @@ public class ServerConfig {
         }
         session.close();
         ServerConfig settings = new ServerConfig(server);
-        cache.put(serverId, settings);
         LoggerFactory.getLogger(ServerConfig.class).debug("Saving {} to channel cache", id);
         return settings;
     }
@@ -70,14 +71,13 @@ public class ServerConfig {
         return data;
     }
 
+    /**
+     * Saves this config. The cache is updated right away, the database shortly after by {@link ConfigWriter}.
+     */
     public void saveData() {
-        var session = DatabaseHelper.getSessionFactory().openSession();
-        session.beginTransaction();
-        session.update(data);
-        session.getTransaction().commit();
-        session.close();
-        cache.put(getId(), new ServerConfig(data));
-        LoggerFactory.getLogger(ServerConfig.class).debug("Saved server with ID {} to database, and updating cache", getId());
+        cache.put(getId(), this);
+        ConfigWriter.markDirty(data.getId(), data);
+        LoggerFactory.getLogger(ServerConfig.class).debug("Updated server with ID {} in cache, queued saving to database", getId());
     }
 
     public String getId() {
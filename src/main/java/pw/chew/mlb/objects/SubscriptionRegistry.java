@@ -0,0 +1,390 @@
+package pw.chew.mlb.objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mapdb.HTreeMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of which channels are following which games, with lookups by channel, gamePk and guild.
+ * <br>
+ * Subscriptions are persisted in MapDB, but lookups never touch it. Every change writes through to MapDB and then
+ * swaps in a new, immutable set of indexes, so reads are lock-free and always see a consistent snapshot.
+ * Copying on write makes a change cost time linear in the number of subscriptions. That's fine for single changes,
+ * which are rare (starting or stopping a game) while reads happen on every play, but changes to many channels at once
+ * should go through {@link #linkAll(Map, Map)} so the indexes are rebuilt once rather than once per channel.
+ * <br>
+ * Each game's channels are also grouped by their {@link DeliveryProfile}, so a play can be scheduled once per group
+ * of identically configured channels instead of once per channel. Profiles aren't persisted, they're set whenever a
+ * game is added and whenever a channel's config changes.
+ */
+public class SubscriptionRegistry {
+    private final HTreeMap<String, ActiveGame> games;
+    private final HTreeMap<String, String> guilds;
+    private volatile Index index;
+
+    /**
+     * Loads the registry from its MapDB maps.
+     *
+     * @param games channel ID to the game it's following
+     * @param guilds channel ID to the guild the channel is in
+     */
+    public SubscriptionRegistry(HTreeMap<String, ActiveGame> games, HTreeMap<String, String> guilds) {
+        this.games = games;
+        this.guilds = guilds;
+
+        this.index = Index.of(games.values(), guilds, Map.of());
+    }
+
+    /**
+     * Subscribes a channel to a game, replacing whatever it was following.
+     *
+     * @param game the game and channel
+     * @param guildId the guild the channel is in, null if unknown
+     */
+    public synchronized void add(ActiveGame game, @Nullable String guildId) {
+        games.put(game.channelId(), game);
+        if (guildId != null) {
+            guilds.put(game.channelId(), guildId);
+        }
+
+        String channelId = game.channelId();
+        index = index.with(game, guildId != null ? guildId : index.guildOf.get(channelId), index.profiles.get(channelId));
+    }
+
+    /**
+     * Records which guild a channel is in, for subscriptions saved before guilds were tracked.
+     *
+     * @param channelId the channel ID
+     * @param guildId the guild ID
+     */
+    public synchronized void linkGuild(String channelId, String guildId) {
+        ActiveGame game = index.byChannel.get(channelId);
+        if (game == null || guildId.equals(index.guildOf.get(channelId))) {
+            return;
+        }
+
+        guilds.put(channelId, guildId);
+
+        index = index.with(game, guildId, index.profiles.get(channelId));
+    }
+
+    /**
+     * Links guilds and sets delivery profiles for many channels at once, rebuilding the indexes a single time.
+     * Channels that aren't following a game are ignored. Used when resuming, where doing this one channel at a time
+     * would copy the indexes once per channel.
+     *
+     * @param guildIds channel ID to the guild the channel is in
+     * @param profiles channel ID to the channel's profile
+     */
+    public synchronized void linkAll(Map<String, String> guildIds, Map<String, DeliveryProfile> profiles) {
+        Map<String, String> guildOf = new HashMap<>(index.guildOf);
+        guildIds.forEach((channelId, guildId) -> {
+            if (index.byChannel.containsKey(channelId) && !guildId.equals(guildOf.get(channelId))) {
+                guilds.put(channelId, guildId);
+                guildOf.put(channelId, guildId);
+            }
+        });
+
+        Map<String, DeliveryProfile> merged = new HashMap<>(index.profiles);
+        profiles.forEach((channelId, profile) -> {
+            if (index.byChannel.containsKey(channelId)) {
+                merged.put(channelId, profile);
+            }
+        });
+
+        index = Index.of(index.byChannel.values(), guildOf, merged);
+    }
+
+    /**
+     * Sets a channel's delivery profile, moving it to the right group. Does nothing if the channel isn't following a game.
+     *
+     * @param channelId the channel ID
+     * @param profile the channel's profile
+     */
+    public synchronized void setProfile(String channelId, DeliveryProfile profile) {
+        ActiveGame game = index.byChannel.get(channelId);
+        if (game == null || profile.equals(index.profiles.get(channelId))) {
+            return;
+        }
+
+        index = index.with(game, index.guildOf.get(channelId), profile);
+    }
+
+    /**
+     * Unsubscribes a channel.
+     *
+     * @param channelId the channel ID
+     * @return the game the channel was following, null if it wasn't following one
+     */
+    @Nullable
+    public synchronized ActiveGame remove(String channelId) {
+        ActiveGame removed = index.byChannel.get(channelId);
+        games.remove(channelId);
+        guilds.remove(channelId);
+        if (removed == null) {
+            return null;
+        }
+
+        index = index.without(channelId);
+
+        return removed;
+    }
+
+    /**
+     * Gets the game a channel is following.
+     *
+     * @param channelId the channel ID
+     * @return the subscription, null if the channel isn't following a game
+     */
+    @Nullable
+    public ActiveGame forChannel(String channelId) {
+        return index.byChannel.get(channelId);
+    }
+
+    /**
+     * Gets every channel following a game.
+     *
+     * @param gamePk the gamePk
+     * @return the subscriptions, an empty list if nobody is following the game
+     */
+    @NotNull
+    public List<ActiveGame> forGame(String gamePk) {
+        return index.byGamePk.getOrDefault(gamePk, List.of());
+    }
+
+    /**
+     * Gets every channel following a game, grouped by delivery profile.
+     * Channels without a profile are grouped under {@link DeliveryProfile#DEFAULT}.
+     *
+     * @param gamePk the gamePk
+     * @return the subscriptions by profile, an empty map if nobody is following the game
+     */
+    @NotNull
+    public Map<DeliveryProfile, List<ActiveGame>> buckets(String gamePk) {
+        return index.byProfile.getOrDefault(gamePk, Map.of());
+    }
+
+    /**
+     * Gets every channel in a guild that is following a game.
+     *
+     * @param guildId the guild ID
+     * @return the subscriptions, an empty list if no channel in the guild is following a game
+     */
+    @NotNull
+    public List<ActiveGame> forGuild(String guildId) {
+        return index.byGuild.getOrDefault(guildId, List.of());
+    }
+
+    /**
+     * Gets every subscription.
+     *
+     * @return all subscriptions
+     */
+    @NotNull
+    public List<ActiveGame> all() {
+        return List.copyOf(index.byChannel.values());
+    }
+
+    /**
+     * The amount of subscriptions.
+     *
+     * @return the amount of subscriptions
+     */
+    public int size() {
+        return index.byChannel.size();
+    }
+
+    /**
+     * An immutable set of indexes over the subscriptions.
+     * <br>
+     * A change copies each map once and only the lists it touches (the channel's game, guild and profile), rather than
+     * regrouping every subscription. Copying the maps is still linear in the number of subscriptions.
+     *
+     * @param byChannel channel ID to its subscription
+     * @param guildOf channel ID to its guild ID
+     * @param profiles channel ID to its delivery profile
+     * @param byGamePk gamePk to its subscriptions
+     * @param byProfile gamePk to its subscriptions, grouped by delivery profile
+     * @param byGuild guild ID to its subscriptions
+     */
+    private record Index(
+        Map<String, ActiveGame> byChannel, Map<String, String> guildOf, Map<String, DeliveryProfile> profiles,
+        Map<String, List<ActiveGame>> byGamePk, Map<String, Map<DeliveryProfile, List<ActiveGame>>> byProfile,
+        Map<String, List<ActiveGame>> byGuild
+    ) {
+        /**
+         * Builds the indexes from scratch, for loading and bulk changes.
+         *
+         * @param games every subscription
+         * @param guilds channel ID to the guild the channel is in
+         * @param profiles channel ID to its delivery profile, channels without one get {@link DeliveryProfile#DEFAULT}
+         * @return the index
+         */
+        static Index of(Collection<ActiveGame> games, Map<String, String> guilds, Map<String, DeliveryProfile> profiles) {
+            Map<String, ActiveGame> byChannel = new HashMap<>();
+            Map<String, String> guildOf = new HashMap<>();
+            Map<String, DeliveryProfile> profileOf = new HashMap<>();
+            Map<String, List<ActiveGame>> byGamePk = new HashMap<>();
+            Map<String, Map<DeliveryProfile, List<ActiveGame>>> byProfile = new HashMap<>();
+            Map<String, List<ActiveGame>> byGuild = new HashMap<>();
+
+            for (ActiveGame game : games) {
+                String channelId = game.channelId();
+                byChannel.put(channelId, game);
+                byGamePk.computeIfAbsent(game.gamePk(), k -> new ArrayList<>()).add(game);
+
+                DeliveryProfile profile = profiles.get(channelId);
+                if (profile != null) {
+                    profileOf.put(channelId, profile);
+                }
+                byProfile.computeIfAbsent(game.gamePk(), k -> new HashMap<>())
+                    .computeIfAbsent(profile == null ? DeliveryProfile.DEFAULT : profile, k -> new ArrayList<>())
+                    .add(game);
+
+                String guildId = guilds.get(channelId);
+                if (guildId != null) {
+                    guildOf.put(channelId, guildId);
+                    byGuild.computeIfAbsent(guildId, k -> new ArrayList<>()).add(game);
+                }
+            }
+
+            byGamePk.replaceAll((k, v) -> List.copyOf(v));
+            byGuild.replaceAll((k, v) -> List.copyOf(v));
+            byProfile.replaceAll((k, buckets) -> {
+                buckets.replaceAll((profile, list) -> List.copyOf(list));
+                return Collections.unmodifiableMap(buckets);
+            });
+
+            return new Index(
+                Collections.unmodifiableMap(byChannel), Collections.unmodifiableMap(guildOf), Collections.unmodifiableMap(profileOf),
+                Collections.unmodifiableMap(byGamePk), Collections.unmodifiableMap(byProfile), Collections.unmodifiableMap(byGuild)
+            );
+        }
+
+        /**
+         * Sets a channel's subscription, replacing whatever it had.
+         *
+         * @param game the game and channel
+         * @param guildId the guild the channel is in, null if unknown
+         * @param profile the channel's profile, null for {@link DeliveryProfile#DEFAULT}
+         * @return the new index
+         */
+        Index with(ActiveGame game, @Nullable String guildId, @Nullable DeliveryProfile profile) {
+            String channelId = game.channelId();
+            String gamePk = game.gamePk();
+            ActiveGame old = byChannel.get(channelId);
+            String oldGamePk = old == null ? null : old.gamePk();
+            DeliveryProfile oldBucket = old == null ? null : profiles.getOrDefault(channelId, DeliveryProfile.DEFAULT);
+            DeliveryProfile bucket = profile == null ? DeliveryProfile.DEFAULT : profile;
+
+            // Move the channel between profile groups, within its game or from its old game to the new one
+            Map<String, Map<DeliveryProfile, List<ActiveGame>>> newByProfile = new HashMap<>(byProfile);
+            if (gamePk.equals(oldGamePk)) {
+                putOrDrop(newByProfile, gamePk, moved(byProfile.get(gamePk), oldBucket, bucket, game));
+            } else {
+                if (oldGamePk != null) {
+                    putOrDrop(newByProfile, oldGamePk, moved(byProfile.get(oldGamePk), oldBucket, null, game));
+                }
+                putOrDrop(newByProfile, gamePk, moved(byProfile.get(gamePk), null, bucket, game));
+            }
+
+            return new Index(
+                put(byChannel, channelId, game),
+                guildId == null ? removed(guildOf, channelId) : put(guildOf, channelId, guildId),
+                profile == null ? removed(profiles, channelId) : put(profiles, channelId, profile),
+                moved(byGamePk, oldGamePk, gamePk, game),
+                Collections.unmodifiableMap(newByProfile),
+                moved(byGuild, guildOf.get(channelId), guildId, game)
+            );
+        }
+
+        /**
+         * Removes a channel's subscription.
+         *
+         * @param channelId the channel ID
+         * @return the new index, or this one if the channel wasn't following a game
+         */
+        Index without(String channelId) {
+            ActiveGame game = byChannel.get(channelId);
+            if (game == null) {
+                return this;
+            }
+
+            String gamePk = game.gamePk();
+            Map<String, Map<DeliveryProfile, List<ActiveGame>>> newByProfile = new HashMap<>(byProfile);
+            putOrDrop(newByProfile, gamePk, moved(byProfile.get(gamePk), profiles.getOrDefault(channelId, DeliveryProfile.DEFAULT), null, game));
+
+            return new Index(
+                removed(byChannel, channelId),
+                removed(guildOf, channelId),
+                removed(profiles, channelId),
+                moved(byGamePk, gamePk, null, game),
+                Collections.unmodifiableMap(newByProfile),
+                moved(byGuild, guildOf.get(channelId), null, game)
+            );
+        }
+
+        private static <K, V> Map<K, V> put(Map<K, V> map, K key, V value) {
+            Map<K, V> copy = new HashMap<>(map);
+            copy.put(key, value);
+            return Collections.unmodifiableMap(copy);
+        }
+
+        private static <K, V> Map<K, V> removed(Map<K, V> map, K key) {
+            if (!map.containsKey(key)) {
+                return map;
+            }
+
+            Map<K, V> copy = new HashMap<>(map);
+            copy.remove(key);
+            return Collections.unmodifiableMap(copy);
+        }
+
+        /**
+         * Moves a channel's subscription from the list under one key to the list under another, copying the map once.
+         * Keys whose list becomes empty are dropped.
+         *
+         * @param map the lists, null if there are none yet
+         * @param from the key the channel was under, null if it wasn't under any
+         * @param to the key the channel is now under, null to only remove it
+         * @param game the channel's new subscription
+         * @return the new map
+         */
+        private static <K> Map<K, List<ActiveGame>> moved(@Nullable Map<K, List<ActiveGame>> map, @Nullable K from, @Nullable K to, ActiveGame game) {
+            Map<K, List<ActiveGame>> copy = map == null ? new HashMap<>() : new HashMap<>(map);
+            if (from != null) {
+                List<ActiveGame> list = new ArrayList<>(copy.getOrDefault(from, List.of()));
+                list.removeIf(other -> other.channelId().equals(game.channelId()));
+                if (list.isEmpty()) {
+                    copy.remove(from);
+                } else {
+                    copy.put(from, List.copyOf(list));
+                }
+            }
+            if (to != null) {
+                List<ActiveGame> list = new ArrayList<>(copy.getOrDefault(to, List.of()));
+                list.add(game);
+                copy.put(to, List.copyOf(list));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+
+        /**
+         * Puts a game's profile groups, or removes the game if it has none left.
+         */
+        private static void putOrDrop(Map<String, Map<DeliveryProfile, List<ActiveGame>>> map, String gamePk, Map<DeliveryProfile, List<ActiveGame>> value) {
+            if (value.isEmpty()) {
+                map.remove(gamePk);
+            } else {
+                map.put(gamePk, value);
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package pw.chew.mlb.util;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 
+import java.util.concurrent.CompletionException;
+
 public class EmbedUtil {
     private EmbedUtil() {}
 
@@ -19,4 +21,20 @@ public class EmbedUtil {
             .setColor(0xd23d33)
             .build();
     }
+
+    /**
+     * Returns a failure embed for an error, e.g. from a failed request.
+     * Unwraps the exceptions CompletableFutures wrap errors in.
+     *
+     * @param error The error to display
+     * @return The failure embed
+     */
+    public static MessageEmbed failure(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        return failure(cause.getMessage());
+    }
 }
@@ -0,0 +1,297 @@
+package pw.chew.mlb.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.objects.GameSnapshot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills in the "Homer Info" field of potential homers, once per play, for every channel that posted it.
+ * <br>
+ * Baseball Savant's homer at parks data takes a while to show up after the hit. Each play is looked up on its own
+ * schedule, backing off between attempts, until the data is there or we give up. Every message the play was posted in
+ * is then edited with the same description, so a play followed by hundreds of channels is still only looked up once.
+ */
+public class HomerEnricher {
+    private static final Logger logger = LoggerFactory.getLogger(HomerEnricher.class);
+    /**
+     * How long after the play to make the first attempt. The data is rarely there any sooner.
+     */
+    private static final Duration FIRST_ATTEMPT = Duration.ofSeconds(15);
+    /**
+     * The longest to wait between attempts.
+     */
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(60);
+    /**
+     * How many attempts to make before settling for whatever we got.
+     */
+    private static final int MAX_ATTEMPTS = 6;
+
+    private final ScheduledThreadPoolExecutor executor;
+    /**
+     * Plays still being looked up, by playId.
+     */
+    private final Map<String, Play> pending = new ConcurrentHashMap<>();
+    /**
+     * Descriptions of plays that have been looked up, by playId, for messages that are sent after the lookup finished.
+     */
+    private final Cache<String, String> resolved = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(15))
+        .build();
+
+    /**
+     * The last edit made to each message, by message ID, so the next edit to it starts from its result.
+     */
+    private final Cache<String, CompletableFuture<Message>> edits = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(15))
+        .build();
+
+    /**
+     * Creates a new enricher.
+     *
+     * @param name the name of the enricher's thread
+     */
+    public HomerEnricher(String name) {
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts looking up the last completed play, if it's a potential homer. Calling this again for the same play does
+     * nothing.
+     *
+     * @param state the snapshot the play was posted from
+     * @return the key to {@link #attach(String, Message, int)} messages with, or null if the play isn't a potential homer
+     */
+    @Nullable
+    public String track(GameSnapshot state) {
+        String url = state.homerAtParksUrl();
+        if (!state.potentialHomer() || url == null) {
+            return null;
+        }
+
+        String playId = state.lastCompletedPlay().hit().playId();
+        if (resolved.getIfPresent(playId) != null) {
+            return playId;
+        }
+
+        pending.computeIfAbsent(playId, id -> {
+            Play play = new Play(id, url, state);
+            executor.schedule(() -> play.attempt(1), FIRST_ATTEMPT.toMillis(), TimeUnit.MILLISECONDS);
+            return play;
+        });
+        return playId;
+    }
+
+    /**
+     * Edits an embed in a message once the play has been looked up, or right away if it already has.
+     *
+     * @param playId the key from {@link #track(GameSnapshot)}
+     * @param message the message the play was posted in
+     * @param index the index of the play's embed in the message
+     */
+    public void attach(String playId, Message message, int index) {
+        Play play = pending.get(playId);
+        if (play != null && play.attach(message, index)) {
+            return;
+        }
+
+        String description = resolved.getIfPresent(playId);
+        if (description != null) {
+            edit(message, index, description);
+        }
+    }
+
+    /**
+     * Stops looking up plays. Plays still pending are dropped.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Replaces the "Homer Info" field of an embed. A message can hold several plays, so edits to the same message are
+     * chained, each one starting from what the previous edit returned rather than fetching the message again.
+     */
+    private void edit(Message message, int index, String description) {
+        edits.asMap().compute(message.getId(), (id, previous) -> {
+            CompletableFuture<Message> latest = previous == null ? CompletableFuture.completedFuture(message) : previous;
+            return latest.thenCompose(current -> editEmbed(current, index, description));
+        });
+    }
+
+    /**
+     * Edits one embed of a message.
+     *
+     * @return a future with the edited message, or the message as it was if the edit failed. It never completes exceptionally.
+     */
+    private static CompletableFuture<Message> editEmbed(Message message, int index, String description) {
+        List<MessageEmbed> embeds = new ArrayList<>(message.getEmbeds());
+        if (index >= embeds.size()) return CompletableFuture.completedFuture(message);
+
+        MessageEmbed embed = embeds.get(index);
+        EmbedBuilder builder = new EmbedBuilder(embed);
+
+        // find the "Homer Info" field
+        for (MessageEmbed.Field field : embed.getFields()) {
+            if (Objects.equals(field.getName(), "Homer Info")) {
+                // remove the field
+                builder.getFields().remove(field);
+                break;
+            }
+        }
+
+        builder.addField("Homer Info", description, false);
+        embeds.set(index, builder.build());
+
+        try {
+            return message.editMessageEmbeds(embeds).submit().exceptionally(error -> {
+                logger.debug("Couldn't add homer info to message {}: {}", message.getId(), error.getMessage());
+                return message;
+            });
+        } catch (RuntimeException e) {
+            // e.g. missing permissions, which JDA checks before sending
+            logger.debug("Couldn't add homer info to message {}: {}", message.getId(), e.getMessage());
+            return CompletableFuture.completedFuture(message);
+        }
+    }
+
+    /**
+     * Whether Savant has finished working out the play yet.
+     */
+    private static boolean isReady(JSONObject homers) {
+        if (homers.has("error")) return false;
+
+        JSONArray hrs = homers.optJSONArray("hr");
+        JSONArray not = homers.optJSONArray("not");
+        return hrs != null && not != null && (!hrs.isEmpty() || !not.isEmpty());
+    }
+
+    /**
+     * A play being looked up, and the messages waiting for it.
+     */
+    private class Play {
+        private final String playId;
+        private final String url;
+        private final GameSnapshot state;
+        private final List<Target> targets = new ArrayList<>();
+        private boolean done;
+
+        Play(String playId, String url, GameSnapshot state) {
+            this.playId = playId;
+            this.url = url;
+            this.state = state;
+        }
+
+        /**
+         * Adds a message to edit once the play is looked up.
+         *
+         * @return false if the play was already looked up, so the message wasn't added
+         */
+        synchronized boolean attach(Message message, int index) {
+            if (done) return false;
+
+            targets.add(new Target(message, index));
+            return true;
+        }
+
+        void attempt(int attempt) {
+            RestClient.getAsync(url).whenComplete((response, error) -> {
+                JSONObject homers = error == null ? read(response) : null;
+                if (homers != null && isReady(homers)) {
+                    String description = describe(homers);
+                    if (description != null) {
+                        finish(description);
+                        return;
+                    }
+                }
+
+                if (attempt >= MAX_ATTEMPTS) {
+                    logger.debug("Gave up waiting for homer data for play {} after {} attempts", playId, attempt);
+                    String description = homers == null ? null : describe(homers);
+                    finish(description == null ? "Failed to retrieve homer data. Thanks MLB!" : description);
+                    return;
+                }
+
+                // 5s, 10s, 20s, 40s, then every minute
+                long backoff = Math.min(MAX_BACKOFF.toMillis(), 5000L << (attempt - 1));
+                executor.schedule(() -> attempt(attempt + 1), backoff, TimeUnit.MILLISECONDS);
+            });
+        }
+
+        /**
+         * Reads Savant's response, or null if it failed or isn't JSON.
+         */
+        @Nullable
+        private JSONObject read(RestClient.Response response) {
+            if (!response.success()) return null;
+
+            try {
+                return response.asJSONObject();
+            } catch (JSONException e) {
+                logger.debug("Couldn't read homer data for play {}: {}", playId, e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Describes the play from Savant's data, or null if the data is missing something.
+         */
+        @Nullable
+        private String describe(JSONObject homers) {
+            try {
+                return state.homerDescription(homers);
+            } catch (RuntimeException e) {
+                logger.debug("Couldn't describe homer data for play {}: {}", playId, e.getMessage());
+                return null;
+            }
+        }
+
+        private void finish(String description) {
+            // Resolved first, so a message attached after this sees the description
+            resolved.put(playId, description);
+
+            List<Target> toEdit;
+            synchronized (this) {
+                done = true;
+                toEdit = List.copyOf(targets);
+                targets.clear();
+            }
+
+            pending.remove(playId, this);
+
+            for (Target target : toEdit) {
+                // One channel failing can't hold back the rest
+                try {
+                    edit(target.message(), target.index(), description);
+                } catch (RuntimeException e) {
+                    logger.debug("Couldn't add homer info to message {}: {}", target.message().getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private record Target(Message message, int index) {}
+}
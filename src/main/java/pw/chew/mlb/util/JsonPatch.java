@@ -0,0 +1,404 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies <a href="https://datatracker.ietf.org/doc/html/rfc6902">JSON Patch</a> operations to org.json documents.
+ * <br>
+ * Patching is copy-on-write: the document passed in is never modified. Only the objects and arrays along each patched
+ * path are copied, everything else is shared with the original document. This keeps older documents (and anything
+ * wrapping them, like a {@link pw.chew.mlb.objects.GameState}) stable while a newer one is being patched.
+ */
+public class JsonPatch {
+    /**
+     * Containers copied while applying this patch. These can safely be changed in place.
+     */
+    private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * The fields the document keeps.
+     */
+    private final JsonStream.Selection selection;
+
+    private JsonPatch(JsonStream.Selection selection) {
+        this.selection = selection;
+    }
+
+    /**
+     * Applies a list of patch operations to a document.
+     *
+     * @param document the document to patch, which is left untouched
+     * @param operations the patch operations, e.g. {@code [{"op": "replace", "path": "/a/b", "value": 1}]}
+     * @return the patched document
+     * @throws IllegalStateException if an operation can't be applied to the document
+     */
+    public static JSONObject apply(JSONObject document, JSONArray operations) {
+        return apply(document, operations, JsonStream.Selection.ALL);
+    }
+
+    /**
+     * Applies a list of patch operations to a document that only keeps some fields, like one read with
+     * {@link JsonStream}. Operations on fields outside the selection are skipped, and added or replaced values are
+     * trimmed down to the selection, so the document never grows past it.
+     *
+     * @param document the document to patch, which is left untouched
+     * @param operations the patch operations
+     * @param selection the fields the document keeps
+     * @return the patched document
+     * @throws IllegalStateException if an operation can't be applied to the document, or needs a value that wasn't kept
+     */
+    public static JSONObject apply(JSONObject document, JSONArray operations, JsonStream.Selection selection) {
+        JsonPatch patch = new JsonPatch(selection);
+
+        Object result = document;
+        for (int i = 0; i < operations.length(); i++) {
+            result = patch.applyOperation(result, operations.getJSONObject(i));
+        }
+
+        if (!(result instanceof JSONObject object)) {
+            throw new IllegalStateException("Patched document is no longer an object");
+        }
+
+        return object;
+    }
+
+    private Object applyOperation(Object document, JSONObject operation) {
+        String op = operation.getString("op");
+        List<String> path = parsePath(operation.getString("path"));
+        JsonStream.Selection target = select(document, path);
+
+        if (op.equals("move")) {
+            List<String> from = parsePath(operation.getString("from"));
+            JsonStream.Selection source = select(document, from);
+            if (source == null && target == null) {
+                return document;
+            }
+            if (source == null) {
+                throw new IllegalStateException("Cannot move a value that wasn't kept into " + operation.getString("path"));
+            }
+
+            Object value = trim(get(document, from), target);
+            Object removed = modify(document, from, 0, this::remove);
+            // Moving a kept value somewhere we don't keep is just a remove
+            return target == null ? removed : modify(removed, path, 0, (parent, token) -> add(parent, token, value));
+        }
+
+        if (target == null) {
+            // Nothing we keep is touched
+            return document;
+        }
+
+        return switch (op) {
+            case "add" -> {
+                Object value = trim(operation.get("value"), target);
+                yield modify(document, path, 0, (parent, token) -> add(parent, token, value));
+            }
+            case "remove" -> modify(document, path, 0, this::remove);
+            case "replace" -> {
+                Object value = trim(operation.get("value"), target);
+                yield modify(document, path, 0, (parent, token) -> replace(parent, token, value));
+            }
+            case "copy" -> {
+                List<String> from = parsePath(operation.getString("from"));
+                if (select(document, from) == null) {
+                    throw new IllegalStateException("Cannot copy a value that wasn't kept into " + operation.getString("path"));
+                }
+
+                Object value = trim(get(document, from), target);
+                // The value will now live at two paths, so nothing under it may be changed in place anymore
+                owned.clear();
+                yield modify(document, path, 0, (parent, token) -> add(parent, token, value));
+            }
+            case "test" -> {
+                Object actual = get(document, path);
+                Object expected = trim(operation.get("value"), target);
+                if (!same(actual, expected)) {
+                    throw new IllegalStateException("Test failed at " + operation.getString("path"));
+                }
+                yield document;
+            }
+            default -> throw new IllegalStateException("Unknown patch operation: " + op);
+        };
+    }
+
+    /**
+     * Finds what the document keeps at a path. Array indexes don't change the selection, since a selection applied to an
+     * array describes each element.
+     *
+     * @return the selection at the path, or null if the path isn't kept
+     */
+    private JsonStream.Selection select(Object document, List<String> path) {
+        JsonStream.Selection current = selection;
+        Object node = document;
+        for (String token : path) {
+            if (current.all) {
+                return current;
+            }
+
+            if (node instanceof JSONArray array) {
+                node = element(array, token);
+            } else {
+                current = current.child(token);
+                if (current == null) {
+                    return null;
+                }
+                node = node instanceof JSONObject object ? object.opt(token) : null;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Drops everything from a value that isn't in the selection. Values that are kept entirely are returned as-is.
+     */
+    private static Object trim(Object value, JsonStream.Selection selection) {
+        if (selection.all) {
+            return value;
+        }
+
+        if (value instanceof JSONObject object) {
+            JSONObject trimmed = new JSONObject();
+            for (String key : object.keySet()) {
+                JsonStream.Selection child = selection.child(key);
+                if (child != null) {
+                    trimmed.put(key, trim(object.get(key), child));
+                }
+            }
+            return trimmed;
+        } else if (value instanceof JSONArray array) {
+            JSONArray trimmed = new JSONArray();
+            for (int i = 0; i < array.length(); i++) {
+                trimmed.put(trim(array.get(i), selection));
+            }
+            return trimmed;
+        }
+
+        return value;
+    }
+
+    /**
+     * Walks down to the parent of the target, copying each container on the way, then runs the modification on it.
+     */
+    private Object modify(Object node, List<String> path, int depth, Modification modification) {
+        if (path.isEmpty()) {
+            // Operations on the root replace the entire document
+            return modification.apply(null, null);
+        }
+
+        if (depth == path.size() - 1) {
+            return modification.apply(node, path.get(depth));
+        }
+
+        String token = path.get(depth);
+        if (node instanceof JSONObject object) {
+            if (!object.has(token)) {
+                throw new IllegalStateException("Missing key " + token + " in path " + path);
+            }
+
+            JSONObject copy = own(object);
+            copy.put(token, modify(object.get(token), path, depth + 1, modification));
+            return copy;
+        } else if (node instanceof JSONArray array) {
+            int index = index(array, token, false);
+
+            JSONArray copy = own(array);
+            copy.put(index, modify(array.get(index), path, depth + 1, modification));
+            return copy;
+        }
+
+        throw new IllegalStateException("Cannot traverse into a value at " + token + " in path " + path);
+    }
+
+    private Object add(Object parent, String token, Object value) {
+        if (token == null) return value;
+
+        if (parent instanceof JSONObject object) {
+            JSONObject copy = own(object);
+            copy.put(token, value);
+            return copy;
+        } else if (parent instanceof JSONArray array) {
+            if (token.equals("-")) {
+                JSONArray copy = own(array);
+                copy.put(value);
+                return copy;
+            }
+
+            int index = index(array, token, true);
+            JSONArray copy = new JSONArray();
+            for (int i = 0; i < array.length(); i++) {
+                if (i == index) copy.put(value);
+                copy.put(array.get(i));
+            }
+            if (index == array.length()) copy.put(value);
+            owned.add(copy);
+            return copy;
+        }
+
+        throw new IllegalStateException("Cannot add to a value at " + token);
+    }
+
+    private Object remove(Object parent, String token) {
+        if (token == null) {
+            throw new IllegalStateException("Cannot remove the root document");
+        }
+
+        if (parent instanceof JSONObject object) {
+            if (!object.has(token)) {
+                throw new IllegalStateException("Missing key " + token + " to remove");
+            }
+
+            JSONObject copy = own(object);
+            copy.remove(token);
+            return copy;
+        } else if (parent instanceof JSONArray array) {
+            int index = index(array, token, false);
+
+            JSONArray copy = own(array);
+            copy.remove(index);
+            return copy;
+        }
+
+        throw new IllegalStateException("Cannot remove from a value at " + token);
+    }
+
+    private Object replace(Object parent, String token, Object value) {
+        if (token == null) return value;
+
+        if (parent instanceof JSONObject object) {
+            if (!object.has(token)) {
+                throw new IllegalStateException("Missing key " + token + " to replace");
+            }
+
+            JSONObject copy = own(object);
+            copy.put(token, value);
+            return copy;
+        } else if (parent instanceof JSONArray array) {
+            int index = index(array, token, false);
+
+            JSONArray copy = own(array);
+            copy.put(index, value);
+            return copy;
+        }
+
+        throw new IllegalStateException("Cannot replace a value at " + token);
+    }
+
+    /**
+     * Returns a copy of the container that may be changed in place.
+     * Containers already copied during this patch are returned as-is.
+     */
+    private JSONObject own(JSONObject object) {
+        if (owned.contains(object)) return object;
+
+        JSONObject copy = new JSONObject();
+        for (String key : object.keySet()) {
+            copy.put(key, object.get(key));
+        }
+        owned.add(copy);
+        return copy;
+    }
+
+    private JSONArray own(JSONArray array) {
+        if (owned.contains(array)) return array;
+
+        JSONArray copy = new JSONArray();
+        for (int i = 0; i < array.length(); i++) {
+            copy.put(array.get(i));
+        }
+        owned.add(copy);
+        return copy;
+    }
+
+    /**
+     * Gets the value at a path.
+     *
+     * @param document the document to look in
+     * @param path the parsed path
+     * @return the value at the path
+     */
+    private static Object get(Object document, List<String> path) {
+        Object node = document;
+        for (String token : path) {
+            if (node instanceof JSONObject object) {
+                if (!object.has(token)) {
+                    throw new IllegalStateException("Missing key " + token + " in path " + path);
+                }
+                node = object.get(token);
+            } else if (node instanceof JSONArray array) {
+                node = array.get(index(array, token, false));
+            } else {
+                throw new IllegalStateException("Cannot traverse into a value at " + token + " in path " + path);
+            }
+        }
+        return node;
+    }
+
+    private static Object element(JSONArray array, String token) {
+        try {
+            return array.opt(Integer.parseInt(token));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int index(JSONArray array, String token, boolean allowEnd) {
+        int index;
+        try {
+            index = Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid array index: " + token);
+        }
+
+        int max = allowEnd ? array.length() : array.length() - 1;
+        if (index < 0 || index > max) {
+            throw new IllegalStateException("Array index out of bounds: " + token);
+        }
+        return index;
+    }
+
+    private static boolean same(Object actual, Object expected) {
+        if (actual instanceof JSONObject object) return object.similar(expected);
+        if (actual instanceof JSONArray array) return array.similar(expected);
+        if (actual instanceof Number a && expected instanceof Number b) return a.doubleValue() == b.doubleValue();
+        return actual.equals(expected);
+    }
+
+    /**
+     * Parses a JSON pointer, e.g. "/liveData/plays/allPlays/0" into its tokens.
+     *
+     * @param pointer the pointer
+     * @return the unescaped tokens, empty for the root
+     */
+    private static List<String> parsePath(String pointer) {
+        List<String> tokens = new ArrayList<>();
+        if (pointer.isEmpty()) {
+            return tokens;
+        }
+        if (!pointer.startsWith("/")) {
+            throw new IllegalStateException("Invalid path: " + pointer);
+        }
+
+        for (String token : pointer.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+
+    @FunctionalInterface
+    private interface Modification {
+        /**
+         * Modifies the target in its parent.
+         *
+         * @param parent the parent container, or null for the root
+         * @param token the key or index in the parent, or null for the root
+         * @return the new parent, or the new document for the root
+         */
+        Object apply(Object parent, String token);
+    }
+}
@@ -0,0 +1,285 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads JSON straight off a stream, only building objects for the parts that were asked for.
+ * <br>
+ * This is for large responses (like a late-game live feed) where we only care about a handful of fields.
+ * Everything not in the {@link Selection} is skipped character by character without being stored, so the full
+ * document never has to exist in memory, neither as a String nor as a tree.
+ */
+public class JsonStream {
+    private final JSONTokener tokener;
+
+    private JsonStream(Reader reader) {
+        this.tokener = new JSONTokener(reader);
+    }
+
+    /**
+     * Reads a JSON object from a stream, keeping only the selected fields.
+     *
+     * @param stream the stream to read, which is not closed
+     * @param selection the fields to keep
+     * @return the object, containing only the selected fields
+     * @throws JSONException if the stream isn't a valid JSON object
+     */
+    public static JSONObject read(InputStream stream, Selection selection) {
+        return read(new InputStreamReader(stream, StandardCharsets.UTF_8), selection);
+    }
+
+    /**
+     * Reads a JSON object from a string, keeping only the selected fields. The skipped fields are never built.
+     *
+     * @param json the JSON object
+     * @param selection the fields to keep
+     * @return the object, containing only the selected fields
+     * @throws JSONException if the string isn't a valid JSON object
+     */
+    public static JSONObject read(String json, Selection selection) {
+        return read(new StringReader(json), selection);
+    }
+
+    private static JSONObject read(Reader source, Selection selection) {
+        JsonStream reader = new JsonStream(source);
+        if (reader.tokener.nextClean() != '{') {
+            throw reader.tokener.syntaxError("Expected a JSON object");
+        }
+
+        return reader.readObject(selection);
+    }
+
+    /**
+     * Reads the next value with a selection.
+     *
+     * @return the value, or null if nothing was kept
+     */
+    private Object readValue(Selection selection) {
+        if (selection.all) {
+            return tokener.nextValue();
+        }
+
+        char c = tokener.nextClean();
+        return switch (c) {
+            case '{' -> readObject(selection);
+            case '[' -> readArray(selection);
+            default -> {
+                // A primitive where we expected structure, so keep it as-is
+                tokener.back();
+                yield tokener.nextValue();
+            }
+        };
+    }
+
+    private JSONObject readObject(Selection selection) {
+        JSONObject object = new JSONObject();
+        if (tokener.nextClean() == '}') {
+            return object;
+        }
+        tokener.back();
+
+        while (true) {
+            if (tokener.nextClean() != '"') {
+                throw tokener.syntaxError("Expected a key");
+            }
+            String key = tokener.nextString('"');
+            if (tokener.nextClean() != ':') {
+                throw tokener.syntaxError("Expected a ':' after a key");
+            }
+
+            Selection child = selection.child(key);
+            if (child == null) {
+                skipValue();
+            } else {
+                Object value = readValue(child);
+                if (value != null) {
+                    object.put(key, value);
+                }
+            }
+
+            switch (tokener.nextClean()) {
+                case '}' -> {
+                    return object;
+                }
+                case ',' -> {}
+                default -> throw tokener.syntaxError("Expected a ',' or '}'");
+            }
+        }
+    }
+
+    /**
+     * Reads an array, applying the selection to each element. If the selection has a consumer, elements are handed to
+     * it one at a time instead of being kept.
+     */
+    private JSONArray readArray(Selection selection) {
+        JSONArray array = selection.each == null ? new JSONArray() : null;
+        if (tokener.nextClean() == ']') {
+            return array;
+        }
+        tokener.back();
+
+        while (true) {
+            Object value = readValue(selection);
+            if (array != null) {
+                array.put(value);
+            } else if (value instanceof JSONObject object) {
+                selection.each.accept(object);
+            }
+
+            switch (tokener.nextClean()) {
+                case ']' -> {
+                    return array;
+                }
+                case ',' -> {}
+                default -> throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Skips over the next value without storing any of it.
+     */
+    private void skipValue() {
+        char c = tokener.nextClean();
+        switch (c) {
+            case '"' -> skipString();
+            case '{', '[' -> {
+                int depth = 1;
+                while (depth > 0) {
+                    char next = tokener.next();
+                    switch (next) {
+                        case 0 -> throw tokener.syntaxError("Unterminated object or array");
+                        case '"' -> skipString();
+                        case '{', '[' -> depth++;
+                        case '}', ']' -> depth--;
+                        default -> {}
+                    }
+                }
+            }
+            default -> {
+                // numbers, booleans and null run until the next delimiter
+                while (true) {
+                    char next = tokener.next();
+                    if (next == 0) return;
+                    if (",}] \t\r\n".indexOf(next) >= 0) {
+                        tokener.back();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void skipString() {
+        while (true) {
+            char c = tokener.next();
+            switch (c) {
+                case 0 -> throw tokener.syntaxError("Unterminated string");
+                case '\\' -> tokener.next();
+                case '"' -> {
+                    return;
+                }
+                default -> {}
+            }
+        }
+    }
+
+    /**
+     * Which fields to keep while reading, similar to statsapi's {@code fields} parameter but nested.
+     * <br>
+     * A selection describes an object. When it's applied to an array, it describes each element of the array instead.
+     */
+    public static class Selection {
+        static final Selection ALL = new Selection(true);
+
+        final boolean all;
+        private final Map<String, Selection> children = new HashMap<>();
+        private Selection anyKey;
+        private Consumer<JSONObject> each;
+
+        private Selection(boolean all) {
+            this.all = all;
+        }
+
+        /**
+         * Starts a selection of an object.
+         *
+         * @param keys fields to keep entirely, if any
+         * @return the selection
+         */
+        public static Selection of(String... keys) {
+            return new Selection(false).keep(keys);
+        }
+
+        /**
+         * Keeps these fields entirely, whatever is in them.
+         *
+         * @param keys the fields
+         * @return this selection
+         */
+        public Selection keep(String... keys) {
+            for (String key : keys) {
+                children.put(key, ALL);
+            }
+            return this;
+        }
+
+        /**
+         * Keeps part of a field.
+         *
+         * @param key the field
+         * @param child what to keep inside of it
+         * @return this selection
+         */
+        public Selection with(String key, Selection child) {
+            children.put(key, child);
+            return this;
+        }
+
+        /**
+         * Keeps part of every field not otherwise selected. Useful for objects keyed by IDs.
+         *
+         * @param child what to keep inside each field
+         * @return this selection
+         */
+        public Selection any(Selection child) {
+            this.anyKey = child;
+            return this;
+        }
+
+        /**
+         * When applied to an array, hands each element to the consumer as soon as it's read, instead of keeping the
+         * array. Only one element is in memory at a time.
+         *
+         * @param consumer the consumer
+         * @return this selection
+         */
+        public Selection each(Consumer<JSONObject> consumer) {
+            this.each = consumer;
+            return this;
+        }
+
+        /**
+         * What to keep inside a field.
+         *
+         * @param key the field
+         * @return the selection for the field, or null if it isn't kept
+         */
+        Selection child(String key) {
+            Selection child = children.get(key);
+            return child == null ? anyKey : child;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package pw.chew.mlb.util;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import net.dv8tion.jda.api.interactions.commands.Command;
-import org.geysermc.discordbot.util.DicesCoefficient;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import pw.chew.chewbotcca.util.RestClient;
@@ -15,6 +14,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static pw.chew.mlb.MLBBot.SEASON;
 import static pw.chew.mlb.MLBBot.TEAMS;
@@ -22,7 +22,8 @@ import static pw.chew.mlb.MLBBot.TEAMS;
 public class MLBAPIUtil {
     /// CACHING ///
     public static final Cache<String, Sports> sportsCache = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(Duration.ofDays(1)).build();
-    public static final Cache<String, Teams> teamsCache = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(Duration.ofDays(1)).build();
+    // One per sport, so switching sports in autocomplete doesn't rebuild the search index each time
+    public static final Cache<String, Teams> teamsCache = Caffeine.newBuilder().maximumSize(32).expireAfterWrite(Duration.ofDays(1)).build();
 
     // Prevent instantiation
     private MLBAPIUtil() {
@@ -32,7 +33,7 @@ public class MLBAPIUtil {
         if (sportsCache.getIfPresent("all") != null) {
             return sportsCache.getIfPresent("all");
         }
-        Sports sports = new Sports(RestClient.get("https://statsapi.mlb.com/api/v1/sports?fields=").asJSONObject().getJSONArray("sports"));
+        Sports sports = new Sports(ReferenceData.get("https://statsapi.mlb.com/api/v1/sports?fields=").getJSONArray("sports"));
         sportsCache.put("all", sports);
         return sports;
     }
@@ -45,14 +46,21 @@ public class MLBAPIUtil {
         if (teamsCache.getIfPresent(sportId) != null) {
             return teamsCache.getIfPresent(sportId);
         }
-        Teams teams = new Teams(RestClient.get("https://statsapi.mlb.com/api/v1/teams?sportIds=%s&season=%s".formatted(sportId, SEASON)).asJSONObject().getJSONArray("teams"));
+        // The sport is typed in, so only look up (and persist) sports that exist
+        if (!getSports().has(sportId)) {
+            return new Teams(new JSONArray());
+        }
+        Teams teams = new Teams(ReferenceData.get("https://statsapi.mlb.com/api/v1/teams?sportIds=%s&season=%s".formatted(sportId, SEASON)).getJSONArray("teams"));
         teamsCache.put(sportId, teams);
         return teams;
     }
 
-    public static Map<String, List<Player>> getLineup(String gamePk, String homeAway) {
-        JSONObject data = RestClient.get("https://statsapi.mlb.com/api/v1.1/game/%s/feed/live?language=en&fields=liveData,boxscore,teams,away,home,players,id,fullName,jerseyNumber,position,name,abbreviation,seasonStats,pitching,era,wins,losses,strikeOuts,batting,avg,ops,homeRuns,gameData,probablePitchers,away,home,id"
-            .formatted(gamePk)).asJSONObject();
+    public static CompletableFuture<Map<String, List<Player>>> getLineup(String gamePk, String homeAway) {
+        return RestClient.getAsync("https://statsapi.mlb.com/api/v1.1/game/%s/feed/live?language=en&fields=liveData,boxscore,teams,away,home,players,id,fullName,jerseyNumber,position,name,abbreviation,seasonStats,pitching,era,wins,losses,strikeOuts,batting,avg,ops,homeRuns,gameData,probablePitchers,away,home,id"
+            .formatted(gamePk)).thenApply(response -> parseLineup(response.asJSONObject(), homeAway));
+    }
+
+    private static Map<String, List<Player>> parseLineup(JSONObject data, String homeAway) {
         JSONObject boxScore = data.getJSONObject("liveData")
             .getJSONObject("boxscore")
             .getJSONObject("teams");
@@ -98,9 +106,15 @@ public class MLBAPIUtil {
      * Gets the current MLB standings.
      *
      * TODO: Support MiLB.
+     *
+     * @return a future that completes with the standings, keyed by division name
      */
-    public static Map<String, List<Standing>> getStandings() {
-        JSONArray standings = RestClient.get("https://statsapi.mlb.com/api/v1/standings?leagueId=103,104&hydrate=division&season=%s".formatted(SEASON)).asJSONObject().getJSONArray("records");
+    public static CompletableFuture<Map<String, List<Standing>>> getStandings() {
+        return RestClient.getAsync("https://statsapi.mlb.com/api/v1/standings?leagueId=103,104&hydrate=division&season=%s".formatted(SEASON))
+            .thenApply(response -> parseStandings(response.asJSONObject().getJSONArray("records")));
+    }
+
+    private static Map<String, List<Standing>> parseStandings(JSONArray standings) {
         HashMap<String, List<Standing>> standingsMap = new HashMap<>();
         for (int i = 0; i < standings.length(); i++) {
             JSONObject division = standings.getJSONObject(i);
@@ -119,7 +133,6 @@ public class MLBAPIUtil {
             standingsMap.put(divisionName, divisionStandings);
         }
         return standingsMap;
-
     }
 
     public record Sports(JSONArray raw) {
@@ -131,9 +144,34 @@ public class MLBAPIUtil {
             }
             return choices;
         }
+
+        /**
+         * Checks if a sport exists.
+         *
+         * @param sportId the sport ID, as typed in
+         * @return true if it's one of these sports
+         */
+        public boolean has(String sportId) {
+            for (int i = 0; i < raw.length(); i++) {
+                if (String.valueOf(raw.getJSONObject(i).getInt("id")).equals(sportId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
-    public record Teams(JSONArray raw) {
+    /**
+     * A sport's teams, with a {@link TeamSearchIndex} built once so autocomplete doesn't scan every team per keystroke.
+     *
+     * @param raw the "teams" array
+     * @param index the search index over the teams
+     */
+    public record Teams(JSONArray raw, TeamSearchIndex index) {
+        public Teams(JSONArray raw) {
+            this(raw, TeamSearchIndex.of(raw));
+        }
+
         public List<Command.Choice> asChoices() {
             List<Command.Choice> choices = new ArrayList<>();
             for (int i = 0; i < raw.length(); i++) {
@@ -150,27 +188,10 @@ public class MLBAPIUtil {
                 return asChoices();
             }
 
-            List<Command.Choice> potential = new ArrayList<>();
-
-            // Search the teams by an exact starting match
-            for (Object teamObj : raw) {
-                JSONObject team = ((JSONObject) teamObj);
-                if (team.getString("name").toLowerCase().startsWith(query.toLowerCase())) {
-                    potential.add(new Command.Choice(team.getString("name"), team.getInt("id")));
-                }
-            }
-
-            // Find the best similarity
-            for (Object teamObj : raw) {
-                JSONObject team = ((JSONObject) teamObj);
-                double similar = DicesCoefficient.diceCoefficientOptimized(query.toLowerCase(), team.getString("name").toLowerCase());
-                if (similar > 0.2d) {
-                    potential.add(new Command.Choice(team.getString("name"), team.getInt("id")));
-                }
-            }
-
-            // Send a message if we don't know what team
-            return potential;
+            // Teams starting with the query first, then similar ones, up to 25
+            return index.search(query, 25).stream()
+                .map(team -> new Command.Choice(team.name(), team.id()))
+                .toList();
         }
     }
 
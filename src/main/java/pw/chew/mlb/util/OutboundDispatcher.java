@@ -0,0 +1,337 @@
+package pw.chew.mlb.util;
+
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
+import net.dv8tion.jda.api.exceptions.InsufficientPermissionException;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends embeds to channels through one queue per channel, merging embeds that become due around the same time into a
+ * single message.
+ * <br>
+ * Every embed is due after its own delay. When the earliest embed in a channel's queue is due, the queue waits a short
+ * window for anything else to become due, then sends everything that's due in as few messages as possible
+ * (up to {@value Message#MAX_EMBED_COUNT} embeds per message). A busy half-inning then turns into a couple of messages
+ * instead of a burst that runs into Discord's per-channel rate limit. A channel's queue is dropped once it's empty.
+ * <br>
+ * Embeds going to many channels at once can be {@link #fanOut(List, List, Duration, Delivered) fanned out}, which
+ * flushes every channel with a single timer instead of one per channel.
+ */
+public class OutboundDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboundDispatcher.class);
+    /**
+     * How long to wait after the first embed is due for others to join it.
+     */
+    private static final Duration WINDOW = Duration.ofMillis(750);
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, ChannelQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /// STATS ///
+    private final LongAdder embedsSent = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder timers = new LongAdder();
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param name the name of the dispatcher's thread
+     */
+    public OutboundDispatcher(String name) {
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Queues an embed to be sent to a channel.
+     *
+     * @param channel the channel to send to
+     * @param embed the embed
+     * @param delay how long to wait before the embed is due
+     * @param onSent called with the message the embed ended up in and its index in that message, may be null
+     */
+    public void submit(GuildMessageChannel channel, MessageEmbed embed, Duration delay, @Nullable Delivered onSent) {
+        submit(channel, List.of(embed), delay, onSent);
+    }
+
+    /**
+     * Queues embeds to be sent to a channel. The embeds are kept together and in order, as long as they fit in one message.
+     *
+     * @param channel the channel to send to
+     * @param embeds the embeds
+     * @param delay how long to wait before the embeds are due
+     * @param onSent called once per embed with the message it ended up in and its index in that message, may be null
+     */
+    public void submit(GuildMessageChannel channel, List<MessageEmbed> embeds, Duration delay, @Nullable Delivered onSent) {
+        if (embeds.isEmpty()) return;
+
+        long due = System.nanoTime() + delay.toNanos();
+        add(channel, embeds, due, onSent, false);
+    }
+
+    /**
+     * Queues embeds to be sent to many channels at the same time, e.g. every channel with the same delivery settings.
+     * Rather than every channel scheduling its own flush, one timer flushes all of them once the embeds are due.
+     * Embeds are still merged with anything else due in each channel.
+     *
+     * @param channels the channels to send to
+     * @param embeds the embeds
+     * @param delay how long to wait before the embeds are due
+     * @param onSent called once per channel and embed with the message it ended up in and its index in that message,
+     *               may be null
+     */
+    public void fanOut(List<GuildMessageChannel> channels, List<MessageEmbed> embeds, Duration delay, @Nullable Delivered onSent) {
+        if (channels.isEmpty() || embeds.isEmpty()) return;
+
+        long due = System.nanoTime() + delay.toNanos();
+        List<ChannelQueue> targets = new ArrayList<>(channels.size());
+        for (GuildMessageChannel channel : channels) {
+            targets.add(add(channel, embeds, due, onSent, true));
+        }
+
+        timers.increment();
+        executor.schedule(() -> targets.forEach(ChannelQueue::flush), delay.plus(WINDOW).toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds embeds to a channel's queue, creating the queue if needed.
+     *
+     * @return the queue they were added to
+     */
+    private ChannelQueue add(GuildMessageChannel channel, List<MessageEmbed> embeds, long due, @Nullable Delivered onSent, boolean fannedOut) {
+        while (true) {
+            ChannelQueue queue = queues.computeIfAbsent(channel.getId(), ChannelQueue::new);
+            // The queue may have just emptied and been dropped, in which case we need a new one
+            if (queue.add(channel, embeds, due, onSent, fannedOut)) {
+                return queue;
+            }
+        }
+    }
+
+    /**
+     * The amount of embeds waiting to be sent, across all channels.
+     *
+     * @return the queue depth
+     */
+    public int queueDepth() {
+        int depth = 0;
+        for (ChannelQueue queue : queues.values()) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * The average amount of embeds per message sent. 1 means nothing has been merged.
+     *
+     * @return the merge ratio
+     */
+    public double mergeRatio() {
+        long messages = messagesSent.sum();
+        return messages == 0 ? 1 : embedsSent.sum() / (double) messages;
+    }
+
+    /**
+     * Summarizes queue depth and how much has been merged.
+     *
+     * @return a friendly summary
+     */
+    public String stats() {
+        return """
+            Queued: %s embeds
+            Sent: %s embeds in %s messages
+            Merge ratio: %.2f
+            Timers: %s
+            """.formatted(queueDepth(), embedsSent.sum(), messagesSent.sum(), mergeRatio(), timers.sum());
+    }
+
+    /**
+     * Stops the dispatcher. Anything still queued is dropped.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Called once an embed has been sent.
+     */
+    @FunctionalInterface
+    public interface Delivered {
+        /**
+         * @param message the message the embed was sent in
+         * @param index the index of the embed in {@link Message#getEmbeds()}
+         */
+        void accept(Message message, int index);
+    }
+
+    /**
+     * Embeds due at the same time, to keep together. Fanned out embeds are flushed by their fan-out's timer, so they
+     * don't schedule a flush of their own.
+     */
+    private record Pending(List<MessageEmbed> embeds, long due, long sequence, @Nullable Delivered onSent, boolean fannedOut) {}
+
+    /**
+     * An embed in an outgoing message, and who to tell once it's sent.
+     */
+    private record Outgoing(MessageEmbed embed, @Nullable Delivered onSent) {}
+
+    /**
+     * The queue for a single channel.
+     */
+    private class ChannelQueue {
+        private final PriorityQueue<Pending> pending = new PriorityQueue<>(
+            Comparator.comparingLong(Pending::due).thenComparingLong(Pending::sequence)
+        );
+        private final String channelId;
+        private GuildMessageChannel channel;
+        private ScheduledFuture<?> flush;
+        private long flushAt;
+        private int size;
+        /**
+         * Whether this queue was emptied and dropped from {@link #queues}. Nothing can be added to it anymore.
+         */
+        private boolean dropped;
+
+        ChannelQueue(String channelId) {
+            this.channelId = channelId;
+        }
+
+        /**
+         * Adds embeds to this queue.
+         *
+         * @return false if this queue was dropped and the embeds weren't added
+         */
+        synchronized boolean add(GuildMessageChannel channel, List<MessageEmbed> embeds, long due, @Nullable Delivered onSent, boolean fannedOut) {
+            if (dropped) return false;
+
+            this.channel = channel;
+            pending.add(new Pending(List.copyOf(embeds), due, sequence.incrementAndGet(), onSent, fannedOut));
+            size += embeds.size();
+            if (!fannedOut) scheduleFlush();
+            return true;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Makes sure a flush is scheduled for the earliest pending embed that isn't fanned out.
+         */
+        private void scheduleFlush() {
+            long first = Long.MAX_VALUE;
+            for (Pending item : pending) {
+                if (!item.fannedOut()) first = Math.min(first, item.due());
+            }
+            if (first == Long.MAX_VALUE) return;
+
+            long at = first + WINDOW.toNanos();
+            if (flush != null && !flush.isDone() && flushAt <= at) return;
+
+            if (flush != null) flush.cancel(false);
+            flushAt = at;
+            flush = executor.schedule(this::flush, Math.max(0, at - System.nanoTime()), TimeUnit.NANOSECONDS);
+            timers.increment();
+        }
+
+        /**
+         * Sends everything that's due.
+         */
+        void flush() {
+            GuildMessageChannel target;
+            List<Pending> due = new ArrayList<>();
+            synchronized (this) {
+                long now = System.nanoTime();
+                while (!pending.isEmpty() && pending.peek().due() <= now) {
+                    Pending next = pending.poll();
+                    due.add(next);
+                    size -= next.embeds().size();
+                }
+                target = channel;
+                // This may be a fan-out's flush rather than our own, so don't leave our own behind
+                if (flush != null) flush.cancel(false);
+                flush = null;
+                scheduleFlush();
+
+                // Nothing left to send, so stop keeping this queue around
+                if (pending.isEmpty() && flush == null) {
+                    dropped = true;
+                    queues.remove(channelId, this);
+                }
+            }
+
+            for (List<Outgoing> message : pack(due)) {
+                send(target, message);
+            }
+        }
+
+        /**
+         * Packs embeds into as few messages as possible, without going over the embed count or length of a message.
+         * Embeds submitted together stay in the same message, unless they don't fit in one.
+         */
+        private List<List<Outgoing>> pack(List<Pending> due) {
+            List<List<Outgoing>> messages = new ArrayList<>();
+            List<Outgoing> current = new ArrayList<>();
+            int length = 0;
+            for (Pending item : due) {
+                int itemLength = item.embeds().stream().mapToInt(MessageEmbed::getLength).sum();
+                if (!current.isEmpty() && (current.size() + item.embeds().size() > Message.MAX_EMBED_COUNT || length + itemLength > MessageEmbed.EMBED_MAX_LENGTH_BOT)) {
+                    messages.add(current);
+                    current = new ArrayList<>();
+                    length = 0;
+                }
+
+                // Only splits the item if it doesn't fit in a message of its own
+                for (MessageEmbed embed : item.embeds()) {
+                    if (!current.isEmpty() && (current.size() == Message.MAX_EMBED_COUNT || length + embed.getLength() > MessageEmbed.EMBED_MAX_LENGTH_BOT)) {
+                        messages.add(current);
+                        current = new ArrayList<>();
+                        length = 0;
+                    }
+                    current.add(new Outgoing(embed, item.onSent()));
+                    length += embed.getLength();
+                }
+            }
+            if (!current.isEmpty()) messages.add(current);
+            return messages;
+        }
+
+        private void send(GuildMessageChannel target, List<Outgoing> outgoing) {
+            List<MessageEmbed> embeds = outgoing.stream().map(Outgoing::embed).toList();
+
+            try {
+                target.sendMessageEmbeds(embeds).queue(message -> {
+                    for (int i = 0; i < outgoing.size(); i++) {
+                        Delivered onSent = outgoing.get(i).onSent();
+                        if (onSent != null) onSent.accept(message, i);
+                    }
+                });
+                embedsSent.add(embeds.size());
+                messagesSent.increment();
+            } catch (InsufficientPermissionException e) {
+                logger.debug("Insufficient permissions to send embeds to channel {}", target.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package pw.chew.mlb.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs recurring, keyed poll tasks on a small shared pool of threads.
+ * <br>
+ * Rather than parking one thread per task, every task is scheduled on the same executor and decides itself how long
+ * to wait until it runs again. Tasks can be cancelled or rescheduled at any time, and a task will never run twice at
+ * the same time.
+ */
+public class PollEngine {
+    private static final Logger logger = LoggerFactory.getLogger(PollEngine.class);
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, PollTask> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new poll engine.
+     *
+     * @param name the name prefix for the engine's threads
+     * @param threads the amount of threads to poll with
+     */
+    public PollEngine(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Schedules a task under the given key, if one isn't already scheduled.
+     *
+     * @param key the key of the task, e.g. a gamePk
+     * @param pollable the task to run
+     * @param initialDelay how long to wait before the first run
+     * @return true if the task was scheduled, false if a task with this key already exists
+     */
+    public boolean schedule(String key, Pollable pollable, Duration initialDelay) {
+        PollTask task = new PollTask(key, pollable);
+        if (tasks.putIfAbsent(key, task) != null) {
+            return false;
+        }
+
+        task.reschedule(initialDelay);
+        return true;
+    }
+
+    /**
+     * Cancels the task with the given key. If it is currently running, it is allowed to finish but won't run again.
+     *
+     * @param key the key of the task
+     * @return true if a task was cancelled, false if no task had this key
+     */
+    public boolean cancel(String key) {
+        PollTask task = tasks.remove(key);
+        if (task == null) {
+            return false;
+        }
+
+        task.cancel();
+        return true;
+    }
+
+    /**
+     * Changes when the task with the given key runs next.
+     * If the task is currently running, the new delay applies once it finishes.
+     *
+     * @param key the key of the task
+     * @param delay how long to wait before the next run
+     * @return true if the task was rescheduled, false if no task had this key
+     */
+    public boolean reschedule(String key, Duration delay) {
+        PollTask task = tasks.get(key);
+        if (task == null) {
+            return false;
+        }
+
+        task.reschedule(delay);
+        return true;
+    }
+
+    /**
+     * Whether a task is scheduled for the given key.
+     *
+     * @param key the key of the task
+     * @return true if a task is scheduled
+     */
+    public boolean isScheduled(String key) {
+        return tasks.containsKey(key);
+    }
+
+    /**
+     * The keys of every scheduled task.
+     *
+     * @return an unmodifiable view of the scheduled keys
+     */
+    public Set<String> keys() {
+        return Set.copyOf(tasks.keySet());
+    }
+
+    /**
+     * The amount of scheduled tasks.
+     *
+     * @return the amount of scheduled tasks
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * The amount of threads backing this engine.
+     *
+     * @return the pool size
+     */
+    public int threads() {
+        return executor.getPoolSize();
+    }
+
+    /**
+     * Cancels every task and stops the engine. Running tasks are interrupted.
+     */
+    public void shutdown() {
+        for (PollTask task : tasks.values()) {
+            task.cancel();
+        }
+        tasks.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * A task run by the engine.
+     */
+    @FunctionalInterface
+    public interface Pollable {
+        /**
+         * Runs the task once.
+         *
+         * @return how long to wait before running again, or null to stop
+         */
+        Duration poll();
+    }
+
+    private class PollTask {
+        private final String key;
+        private final Pollable pollable;
+        private ScheduledFuture<?> future;
+        private Duration override;
+        private boolean running;
+        private boolean cancelled;
+
+        PollTask(String key, Pollable pollable) {
+            this.key = key;
+            this.pollable = pollable;
+        }
+
+        synchronized void reschedule(Duration delay) {
+            if (cancelled) return;
+
+            // Let the current run pick up the new delay instead of running alongside it
+            if (running) {
+                override = delay;
+                return;
+            }
+
+            if (future != null) {
+                future.cancel(false);
+            }
+            future = executor.schedule(this::run, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (future != null && !running) {
+                future.cancel(false);
+            }
+        }
+
+        private void run() {
+            synchronized (this) {
+                if (cancelled) return;
+                running = true;
+            }
+
+            Duration next = null;
+            try {
+                next = pollable.poll();
+            } catch (Exception e) {
+                logger.error("Poll task {} failed, retrying in 10s", key, e);
+                next = Duration.ofSeconds(10);
+            } catch (Error e) {
+                // Don't retry after an Error, but free the key so the task can be scheduled again
+                logger.error("Poll task {} failed with an error, stopping it", key, e);
+                throw e;
+            } finally {
+                finish(next);
+            }
+        }
+
+        /**
+         * Schedules the next run after this one, or drops the task if there is none.
+         *
+         * @param next the delay until the next run, null to stop
+         */
+        private synchronized void finish(Duration next) {
+            running = false;
+            if (cancelled) return;
+
+            if (next == null) {
+                cancelled = true;
+                tasks.remove(key, this);
+                return;
+            }
+
+            if (override != null) {
+                next = override;
+                override = null;
+            }
+            future = executor.schedule(this::run, next.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONObject;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.HTreeMap;
+import org.mapdb.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps MLB's reference data (teams, sports) on disk in {@code reference.db}, next to {@code games.db}.
+ * <br>
+ * Reference data barely changes during a season, so it's served straight from disk, even at boot. Whenever something
+ * is read that was last fetched more than {@link #STALE_AFTER} ago, it's revalidated in the background and the newer
+ * copy is used from then on. Only data we've never fetched before blocks on the network.
+ */
+public class ReferenceData {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceData.class);
+    /**
+     * How long until stored data is revalidated.
+     */
+    private static final Duration STALE_AFTER = Duration.ofHours(6);
+
+    private static final DB db = DBMaker.fileDB("reference.db").fileMmapEnable().closeOnJvmShutdown().checksumHeaderBypass().make();
+    /**
+     * A map of URLs to the body they last returned.
+     */
+    private static final HTreeMap<String, String> bodies = db
+        .hashMap("bodies", Serializer.STRING, Serializer.STRING)
+        .createOrOpen();
+    /**
+     * A map of URLs to when their body was last fetched, in epoch milliseconds.
+     */
+    private static final HTreeMap<String, Long> fetchedAt = db
+        .hashMap("fetched", Serializer.STRING, Serializer.LONG)
+        .createOrOpen();
+    /**
+     * URLs currently being revalidated, so each is only revalidated once at a time.
+     */
+    private static final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    // Prevent instantiation
+    private ReferenceData() {
+    }
+
+    /**
+     * Gets reference data, from disk if we have it.
+     *
+     * @param url the statsapi URL to get
+     * @throws RuntimeException if it isn't stored and fetching it fails
+     * @return the response body
+     */
+    public static JSONObject get(String url) {
+        String body = bodies.get(url);
+        if (body == null) {
+            logger.debug("No stored copy of {}, fetching it", url.split("\\?")[0]);
+            return new JSONObject(store(url, RestClient.get(url)));
+        }
+
+        Long fetched = fetchedAt.get(url);
+        if (fetched == null || System.currentTimeMillis() - fetched > STALE_AFTER.toMillis()) {
+            revalidate(url);
+        }
+
+        return new JSONObject(body);
+    }
+
+    /**
+     * Fetches a URL in the background and stores the result, if it's still valid.
+     *
+     * @param url the URL
+     */
+    private static void revalidate(String url) {
+        if (!revalidating.add(url)) return;
+
+        RestClient.getAsync(url).whenComplete((response, error) -> {
+            revalidating.remove(url);
+            if (error != null) {
+                logger.warn("Failed to revalidate {}, keeping the stored copy", url.split("\\?")[0], error);
+                return;
+            }
+
+            try {
+                store(url, response);
+            } catch (RuntimeException e) {
+                logger.warn("Got an invalid response revalidating {}, keeping the stored copy", url.split("\\?")[0], e);
+            }
+        });
+    }
+
+    /**
+     * Stores a response, as long as it's a successful JSON object.
+     *
+     * @param url the URL it's from
+     * @param response the response
+     * @throws IllegalStateException if the response wasn't successful
+     * @return the stored body
+     */
+    private static String store(String url, RestClient.Response response) {
+        if (!response.success()) {
+            throw new IllegalStateException("Got HTTP " + response.code() + " from " + url.split("\\?")[0]);
+        }
+
+        // Make sure it's valid before storing it
+        String body = response.asJSONObject().toString();
+        bodies.put(url, body);
+        fetchedAt.put(url, System.currentTimeMillis());
+        return body;
+    }
+}
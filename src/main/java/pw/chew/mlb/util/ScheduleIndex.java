@@ -0,0 +1,215 @@
+package pw.chew.mlb.util;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static pw.chew.mlb.MLBBot.SEASON;
+
+/**
+ * An in-memory index of the season's schedule, by sport, team and date, with the autocomplete choice for every game
+ * already built.
+ * <br>
+ * A sport's whole season is loaded the first time it's needed. After that, only the next couple of weeks are
+ * re-fetched every so often to pick up postponements and makeup games, and swapped into the index.
+ */
+public class ScheduleIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleIndex.class);
+    /**
+     * We use New York because there is rarely games played east of it, and MLB is headquartered in New York.
+     */
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final String FIELDS = "fields=dates,date,games,gamePk,teams,away,home,team,teamName,id&hydrate=team";
+    /**
+     * How often to re-fetch the upcoming part of the schedule.
+     */
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(30);
+    /**
+     * How far ahead to re-fetch.
+     */
+    private static final int REFRESH_DAYS = 14;
+
+    private static final Map<String, CompletableFuture<Season>> seasons = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ScheduleIndex");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        refresher.scheduleWithFixedDelay(ScheduleIndex::refreshAll, REFRESH_INTERVAL.toMinutes(), REFRESH_INTERVAL.toMinutes(), TimeUnit.MINUTES);
+    }
+
+    // Prevent instantiation
+    private ScheduleIndex() {
+    }
+
+    /**
+     * Gets up to a number of upcoming games for a team, starting today.
+     *
+     * @param sportId the sport ID of the team
+     * @param teamId the team ID
+     * @param limit the most choices to return
+     * @return a future list of games as choices, which is already complete once the sport's season is loaded. Empty
+     * if the sport doesn't exist.
+     */
+    public static CompletableFuture<List<Command.Choice>> upcomingGames(String sportId, int teamId, int limit) {
+        // The sport is typed in, so don't load (and keep) a season for one that doesn't exist
+        if (!MLBAPIUtil.getSports().has(sportId)) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        return season(sportId).thenApply(season -> season.upcoming(teamId, LocalDate.now(NEW_YORK), limit));
+    }
+
+    /**
+     * Gets a sport's season, loading it if needed. A failed load is forgotten so the next call tries again.
+     */
+    private static CompletableFuture<Season> season(String sportId) {
+        return seasons.computeIfAbsent(sportId, id -> {
+            logger.debug("Loading the {} schedule for sport {}", SEASON, id);
+            CompletableFuture<Season> season = fetch("https://statsapi.mlb.com/api/v1/schedule?lang=en&sportId=%s&season=%s&%s".formatted(id, SEASON, FIELDS))
+                .thenApply(dates -> Season.EMPTY.with(dates, null, null));
+            season.whenComplete((loaded, error) -> {
+                if (error != null) {
+                    logger.warn("Failed to load the schedule for sport {}: {}", id, error.getMessage());
+                    seasons.remove(id, season);
+                }
+            });
+            return season;
+        });
+    }
+
+    /**
+     * Re-fetches the upcoming games of every loaded sport.
+     */
+    private static void refreshAll() {
+        LocalDate start = LocalDate.now(NEW_YORK);
+        LocalDate end = start.plusDays(REFRESH_DAYS);
+
+        for (Map.Entry<String, CompletableFuture<Season>> entry : seasons.entrySet()) {
+            CompletableFuture<Season> current = entry.getValue();
+            if (!current.isDone() || current.isCompletedExceptionally()) continue;
+
+            String sportId = entry.getKey();
+            fetch("https://statsapi.mlb.com/api/v1/schedule?lang=en&sportId=%s&startDate=%s&endDate=%s&%s".formatted(sportId, start, end, FIELDS))
+                .thenAccept(dates -> {
+                    Season refreshed = current.join().with(dates, start, end);
+                    seasons.replace(sportId, current, CompletableFuture.completedFuture(refreshed));
+                    logger.debug("Refreshed the schedule for sport {} from {} to {}", sportId, start, end);
+                })
+                .exceptionally(e -> {
+                    logger.warn("Failed to refresh the schedule for sport {}: {}", sportId, e.getMessage());
+                    return null;
+                });
+        }
+    }
+
+    private static CompletableFuture<JSONArray> fetch(String url) {
+        return RestClient.getAsync(url).thenApply(response -> response.asJSONObject().getJSONArray("dates"));
+    }
+
+    /**
+     * A sport's schedule: team ID to its games, by date.
+     */
+    private record Season(Map<Integer, NavigableMap<LocalDate, List<Command.Choice>>> teams) {
+        static final Season EMPTY = new Season(Map.of());
+
+        /**
+         * Gets the choices for a team's games from a date on.
+         */
+        List<Command.Choice> upcoming(int teamId, LocalDate from, int limit) {
+            NavigableMap<LocalDate, List<Command.Choice>> games = teams.get(teamId);
+            if (games == null) return List.of();
+
+            List<Command.Choice> choices = new ArrayList<>(limit);
+            for (List<Command.Choice> day : games.tailMap(from, true).values()) {
+                for (Command.Choice choice : day) {
+                    if (choices.size() >= limit) return choices;
+                    choices.add(choice);
+                }
+            }
+            return choices;
+        }
+
+        /**
+         * Builds a new season with the provided dates. If a range is given, any date in it that isn't in the provided
+         * dates no longer has games, e.g. because they were postponed.
+         *
+         * @param dates the "dates" of a schedule response
+         * @param start the first date fetched, or null if this is the whole season
+         * @param end the last date fetched, or null if this is the whole season
+         */
+        Season with(JSONArray dates, LocalDate start, LocalDate end) {
+            Map<Integer, NavigableMap<LocalDate, List<Command.Choice>>> updated = new HashMap<>();
+            for (Map.Entry<Integer, NavigableMap<LocalDate, List<Command.Choice>>> team : teams.entrySet()) {
+                NavigableMap<LocalDate, List<Command.Choice>> games = new TreeMap<>(team.getValue());
+                if (start != null && end != null) {
+                    games.subMap(start, true, end, true).clear();
+                }
+                updated.put(team.getKey(), games);
+            }
+
+            for (int i = 0; i < dates.length(); i++) {
+                JSONObject day = dates.getJSONObject(i);
+                // Formatted as YYYY-MM-DD
+                String date = day.getString("date");
+                LocalDate localDate = LocalDate.parse(date);
+
+                // A team's games that day, so doubleheaders can be numbered
+                Map<Integer, List<JSONObject>> byTeam = new HashMap<>();
+                JSONArray dayGames = day.getJSONArray("games");
+                for (int j = 0; j < dayGames.length(); j++) {
+                    JSONObject game = dayGames.getJSONObject(j);
+                    JSONObject teamsObj = game.getJSONObject("teams");
+                    byTeam.computeIfAbsent(teamsObj.getJSONObject("away").getJSONObject("team").getInt("id"), k -> new ArrayList<>()).add(game);
+                    byTeam.computeIfAbsent(teamsObj.getJSONObject("home").getJSONObject("team").getInt("id"), k -> new ArrayList<>()).add(game);
+                }
+
+                for (Map.Entry<Integer, List<JSONObject>> team : byTeam.entrySet()) {
+                    int teamId = team.getKey();
+                    List<JSONObject> games = team.getValue();
+                    List<Command.Choice> choices = new ArrayList<>(games.size());
+                    for (int j = 0; j < games.size(); j++) {
+                        JSONObject game = games.get(j);
+
+                        // find if we're home or away
+                        JSONObject away = game.getJSONObject("teams").getJSONObject("away").getJSONObject("team");
+                        JSONObject home = game.getJSONObject("teams").getJSONObject("home").getJSONObject("team");
+
+                        boolean isAway = away.getInt("id") == teamId;
+                        String opponent = isAway ? home.getString("teamName") : away.getString("teamName");
+
+                        String name = "%s %s - %s%s".formatted(isAway ? "@" : "vs", opponent, date, games.size() > 1 ? " (Game %d)".formatted(j + 1) : "");
+                        Command.Choice choice = new Command.Choice(name, game.getInt("gamePk"));
+                        if (!choices.contains(choice)) choices.add(choice);
+                    }
+
+                    updated.computeIfAbsent(teamId, k -> new TreeMap<>()).put(localDate, List.copyOf(choices));
+                }
+            }
+
+            updated.replaceAll((teamId, games) -> Collections.unmodifiableNavigableMap(games));
+            return new Season(Map.copyOf(updated));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package pw.chew.mlb.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the bot's startup as a set of named stages. Each stage starts as soon as the stages it depends on are done,
+ * so independent stages (like connecting to the database and logging into Discord) run at the same time.
+ * <br>
+ * How long every stage took, and when it finished relative to the start of boot, is logged so slow stages are easy
+ * to spot.
+ */
+public class Startup {
+    private static final Logger logger = LoggerFactory.getLogger(Startup.class);
+
+    private final long start = System.nanoTime();
+    private final Map<String, CompletableFuture<Void>> stages = new LinkedHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Adds a stage. It runs once all of its dependencies have finished, and is skipped if any of them failed.
+     *
+     * @param name the name of the stage, used in logs and by stages that depend on it
+     * @param stage what to run
+     * @param dependsOn the names of stages that have to finish first. These must already be added.
+     * @throws IllegalArgumentException if a dependency hasn't been added
+     * @return this startup
+     */
+    public Startup stage(String name, Stage stage, String... dependsOn) {
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        for (String dependency : dependsOn) {
+            CompletableFuture<Void> future = stages.get(dependency);
+            if (future == null) {
+                throw new IllegalArgumentException("Stage " + name + " depends on unknown stage " + dependency);
+            }
+            dependencies.add(future);
+        }
+
+        CompletableFuture<Void> future = CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+            .thenRunAsync(() -> run(name, stage), executor);
+        stages.put(name, future);
+        return this;
+    }
+
+    /**
+     * Waits for every stage to finish.
+     *
+     * @return true if every stage succeeded
+     */
+    public boolean await() {
+        boolean success = true;
+        for (Map.Entry<String, CompletableFuture<Void>> stage : stages.entrySet()) {
+            try {
+                stage.getValue().join();
+            } catch (CompletionException e) {
+                success = false;
+                logger.error("Startup stage {} did not complete: {}", stage.getKey(), e.getCause().getMessage());
+            }
+        }
+
+        executor.shutdown();
+        logger.info("Startup {} in {} ms", success ? "finished" : "failed", sinceStart());
+        return success;
+    }
+
+    private void run(String name, Stage stage) {
+        long stageStart = System.nanoTime();
+        logger.info("Starting stage {}", name);
+        try {
+            stage.run();
+        } catch (Exception e) {
+            throw new CompletionException(new IllegalStateException("Stage " + name + " failed: " + e.getMessage(), e));
+        }
+        logger.info("Finished stage {} in {} ms (+{} ms since boot)",
+            name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stageStart), sinceStart());
+    }
+
+    private long sinceStart() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * A single startup stage.
+     */
+    @FunctionalInterface
+    public interface Stage {
+        void run() throws Exception;
+    }
+}
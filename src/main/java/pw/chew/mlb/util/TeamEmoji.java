@@ -6,26 +6,40 @@ import net.dv8tion.jda.api.entities.emoji.Emoji;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.LoggerFactory;
-import pw.chew.chewbotcca.util.RestClient;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 import static pw.chew.mlb.MLBBot.SEASON;
 
 /**
  * Team Emoji. Pulls from the bot's emoji on Discord and matches them to teams.
+ * <br>
+ * Lookups use maps built by {@link #setupEmoji(JDA)}. Calling it again builds new maps and swaps them in at once, so
+ * a lookup never sees a half-built set of emoji.
  */
 public record TeamEmoji(String name, String clubName, int id, Emoji emoji) {
-    private static final List<TeamEmoji> cache = new ArrayList<>();
+    private static volatile Lookup lookup = Lookup.EMPTY;
 
     public static void setupEmoji(JDA jda) {
         LoggerFactory.getLogger(TeamEmoji.class).debug("Setting up emojis...");
 
         // Retrieve Emoji from Discoed
-        JSONArray teams = RestClient.get("https://statsapi.mlb.com/api/v1/teams?sportIds=1,11,12,13,14&season=%s&fields=teams,id,name,clubName,active".formatted(SEASON)).asJSONObject().getJSONArray("teams");
+        JSONArray teams = ReferenceData.get("https://statsapi.mlb.com/api/v1/teams?sportIds=1,11,12,13,14&season=%s&fields=teams,id,name,clubName,active".formatted(SEASON)).getJSONArray("teams");
         List<ApplicationEmoji> emojis = jda.retrieveApplicationEmojis().complete();
 
+        // index the teams by ID, keeping the first if there are duplicates
+        Map<Integer, JSONObject> teamsById = new HashMap<>();
+        for (Object teamObj : teams) {
+            JSONObject teamJsonObj = (JSONObject) teamObj;
+            teamsById.putIfAbsent(teamJsonObj.getInt("id"), teamJsonObj);
+        }
+
+        List<TeamEmoji> found = new ArrayList<>();
+
         // iterate through emojis
         for (ApplicationEmoji emoji : emojis) {
             String emojiName = emoji.getName();
@@ -40,23 +54,23 @@ public record TeamEmoji(String name, String clubName, int id, Emoji emoji) {
 
             // check hardcoded first
             switch (emojiTeamIdInt) {
-                case 159 -> cache.add(new TeamEmoji("American League All-Stars", "American", 159, emoji));
-                case 160 -> cache.add(new TeamEmoji("National League All-Stars", "National", 160, emoji));
-                case 0 -> cache.add(new TeamEmoji("Unknown", "Unknown", 0, emoji));
+                case 159 -> found.add(new TeamEmoji("American League All-Stars", "American", 159, emoji));
+                case 160 -> found.add(new TeamEmoji("National League All-Stars", "National", 160, emoji));
+                case 0 -> found.add(new TeamEmoji("Unknown", "Unknown", 0, emoji));
             }
 
-            // iterate through teams
-            for (Object teamObj : teams) {
-                JSONObject teamJsonObj = (JSONObject) teamObj;
-                if (teamJsonObj.getInt("id") == emojiTeamIdInt) {
-                    TeamEmoji teamEmoji = new TeamEmoji(teamJsonObj.getString("name"), teamJsonObj.getString("clubName"), emojiTeamIdInt, emoji);
-                    cache.add(teamEmoji);
-                    break;
-                }
+            JSONObject teamJsonObj = teamsById.get(emojiTeamIdInt);
+            if (teamJsonObj != null) {
+                found.add(new TeamEmoji(teamJsonObj.getString("name"), teamJsonObj.getString("clubName"), emojiTeamIdInt, emoji));
             }
         }
 
-        LoggerFactory.getLogger(TeamEmoji.class).debug("Set up {} emoji!", cache.size());
+        lookup = Lookup.of(found);
+        if (lookup.unknown() == null) {
+            LoggerFactory.getLogger(TeamEmoji.class).warn("No emoji for team 0, teams without an emoji can't be shown!");
+        }
+
+        LoggerFactory.getLogger(TeamEmoji.class).debug("Set up {} emoji!", found.size());
     }
 
     /**
@@ -67,9 +81,8 @@ public record TeamEmoji(String name, String clubName, int id, Emoji emoji) {
      */
     @Deprecated
     public static Emoji fromName(String input) {
-        TeamEmoji unknownEmoji = cache.stream().filter(teamEmoji -> teamEmoji.name().equals("Unknown")).findFirst().orElseThrow();
-
-        return cache.stream().filter(teamEmoji -> teamEmoji.name().equals(input)).findFirst().orElse(unknownEmoji).emoji();
+        Lookup current = lookup;
+        return current.orUnknown(current.byName().get(input));
     }
 
     /**
@@ -83,9 +96,8 @@ public record TeamEmoji(String name, String clubName, int id, Emoji emoji) {
      */
     @Deprecated
     public static Emoji fromClubName(String input) {
-        TeamEmoji unknownEmoji = cache.stream().filter(teamEmoji -> teamEmoji.name().equals("Unknown")).findFirst().orElseThrow();
-
-        return cache.stream().filter(teamEmoji -> teamEmoji.clubName().equals(input)).findFirst().orElse(unknownEmoji).emoji();
+        Lookup current = lookup;
+        return current.orUnknown(current.byClubName().get(input));
     }
 
     /**
@@ -94,9 +106,8 @@ public record TeamEmoji(String name, String clubName, int id, Emoji emoji) {
      * @return the emoji or unknown if not found
      */
     public static Emoji fromTeamId(int id) {
-        TeamEmoji unknownEmoji = cache.stream().filter(teamEmoji -> teamEmoji.name().equals("Unknown")).findFirst().orElseThrow();
-
-        return cache.stream().filter(teamEmoji -> teamEmoji.id() == id).findFirst().orElse(unknownEmoji).emoji();
+        Lookup current = lookup;
+        return current.orUnknown(current.byId().get(id));
     }
 
     /**
@@ -107,4 +118,39 @@ public record TeamEmoji(String name, String clubName, int id, Emoji emoji) {
     public static Emoji fromTeamId(String id) {
         return fromTeamId(Integer.parseInt(id));
     }
+
+    /**
+     * Every way to look up an emoji. Each map keeps the first emoji found for a key.
+     *
+     * @param byId emoji by team ID
+     * @param byName emoji by full team name
+     * @param byClubName emoji by club name
+     * @param unknown the emoji for unknown teams, or null if there isn't one
+     */
+    private record Lookup(Map<Integer, Emoji> byId, Map<String, Emoji> byName, Map<String, Emoji> byClubName, Emoji unknown) {
+        static final Lookup EMPTY = new Lookup(Map.of(), Map.of(), Map.of(), null);
+
+        static Lookup of(List<TeamEmoji> emojis) {
+            Map<Integer, Emoji> byId = new HashMap<>();
+            Map<String, Emoji> byName = new HashMap<>();
+            Map<String, Emoji> byClubName = new HashMap<>();
+            for (TeamEmoji teamEmoji : emojis) {
+                byId.putIfAbsent(teamEmoji.id(), teamEmoji.emoji());
+                byName.putIfAbsent(teamEmoji.name(), teamEmoji.emoji());
+                byClubName.putIfAbsent(teamEmoji.clubName(), teamEmoji.emoji());
+            }
+            return new Lookup(Map.copyOf(byId), Map.copyOf(byName), Map.copyOf(byClubName), byName.get("Unknown"));
+        }
+
+        /**
+         * Falls back to the unknown emoji.
+         *
+         * @throws NoSuchElementException if there's no unknown emoji, e.g. before emojis are set up
+         */
+        Emoji orUnknown(Emoji emoji) {
+            if (emoji != null) return emoji;
+            if (unknown == null) throw new NoSuchElementException("No emoji for unknown teams");
+            return unknown;
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package pw.chew.mlb.util;
+
+import org.geysermc.discordbot.util.DicesCoefficient;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * A search index over team names for autocomplete, built once per list of teams.
+ * <br>
+ * Names are normalized (lowercase, no accents, single spaces) and kept sorted, so every name starting with the query
+ * is found with a binary search. Each name's bigrams are computed and sorted up front, so fuzzy matching with
+ * {@link DicesCoefficient#rank(String, int[][], double, int)} only has to work out the query's bigrams. Prefix matches
+ * come first, then similar names, best match first.
+ */
+public class TeamSearchIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    /**
+     * How similar a name has to be to the query to count as a match.
+     */
+    private static final double MIN_SIMILARITY = 0.2;
+
+    /**
+     * Teams sorted by normalized name.
+     */
+    private final Team[] teams;
+    /**
+     * The normalized names, in the same order as {@link #teams}.
+     */
+    private final String[] names;
+    /**
+     * The sorted bigrams of each normalized name, in the same order as {@link #teams}.
+     */
+    private final int[][] bigrams;
+
+    private TeamSearchIndex(Team[] teams) {
+        this.teams = teams;
+        this.names = new String[teams.length];
+        this.bigrams = new int[teams.length][];
+        for (int i = 0; i < teams.length; i++) {
+            names[i] = teams[i].normalized();
+            bigrams[i] = DicesCoefficient.bigrams(names[i]);
+        }
+    }
+
+    /**
+     * Builds an index from statsapi's teams.
+     *
+     * @param raw the "teams" array, each with at least a name and ID
+     * @return the index
+     */
+    public static TeamSearchIndex of(JSONArray raw) {
+        List<Team> teams = new ArrayList<>(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            JSONObject team = raw.getJSONObject(i);
+            teams.add(new Team(team.getString("name"), team.getInt("id"), normalize(team.getString("name"))));
+        }
+
+        Team[] sorted = teams.toArray(Team[]::new);
+        Arrays.sort(sorted, Comparator.comparing(Team::normalized));
+        return new TeamSearchIndex(sorted);
+    }
+
+    /**
+     * Searches for teams. Names starting with the query come first, then names similar to it, best match first.
+     *
+     * @param query the query
+     * @param limit the most results to return
+     * @return the matching teams, without duplicates
+     */
+    public List<Team> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return Arrays.stream(teams).limit(limit).toList();
+        }
+
+        List<Team> results = new ArrayList<>(limit);
+
+        // Everything starting with the query sits together in the sorted names, and comes first
+        int start = lowerBound(normalized);
+        int prefixEnd = start;
+        while (prefixEnd < names.length && names[prefixEnd].startsWith(normalized)) {
+            if (results.size() < limit) results.add(teams[prefixEnd]);
+            prefixEnd++;
+        }
+        if (results.size() >= limit) return results;
+
+        // Then similar names, skipping the prefix matches we already have
+        int wanted = limit - results.size() + (prefixEnd - start);
+        for (int i : DicesCoefficient.rank(normalized, bigrams, MIN_SIMILARITY, wanted)) {
+            if (results.size() >= limit) break;
+            if (i < start || i >= prefixEnd) results.add(teams[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Finds the first name that isn't before the query.
+     */
+    private int lowerBound(String query) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (names[mid].compareTo(query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Lowercases a name, strips accents and collapses whitespace, so "Águilas  de Mexicali" matches "aguilas de".
+     *
+     * @param name the name
+     * @return the normalized name
+     */
+    static String normalize(String name) {
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * A team in the index.
+     *
+     * @param name the team's name, as shown
+     * @param id the team's ID
+     * @param normalized the normalized name
+     */
+    public record Team(String name, int id, String normalized) {}
+}
@@ -0,0 +1,168 @@
+package pw.chew.mlb.util;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Today's games for each sport, kept up to date in the background with their autocomplete choices already built,
+ * so autocomplete never waits on statsapi.
+ * <br>
+ * Every sport's slate is refreshed every minute, since the choices depend on which games are live. "Today" is the
+ * day in New York, and the slates are refreshed right as that day changes.
+ */
+public class TodaySlate {
+    private static final Logger logger = LoggerFactory.getLogger(TodaySlate.class);
+    /**
+     * We use New York because there is rarely games played east of it, and MLB is headquartered in New York.
+     */
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(1);
+
+    private static final Map<String, Slate> slates = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TodaySlate");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        executor.scheduleWithFixedDelay(TodaySlate::refreshAll, REFRESH_INTERVAL.toSeconds(), REFRESH_INTERVAL.toSeconds(), TimeUnit.SECONDS);
+        scheduleRollover();
+    }
+
+    // Prevent instantiation
+    private TodaySlate() {
+    }
+
+    /**
+     * Starts keeping a sport's slate, and waits for it to be loaded the first time.
+     *
+     * @param sportId the sport ID
+     * @throws RuntimeException if the first load fails. The slate is still refreshed in the background.
+     */
+    public static void start(String sportId) {
+        slates.putIfAbsent(sportId, Slate.EMPTY);
+        refresh(sportId).join();
+    }
+
+    /**
+     * Gets today's games as autocomplete choices. If the sport isn't kept yet, it starts being kept, and no games are
+     * returned until it's loaded.
+     *
+     * @param sportId the sport ID
+     * @param showFinal whether to include games that aren't live
+     * @return the choices
+     */
+    public static List<Command.Choice> choices(String sportId, boolean showFinal) {
+        Slate slate = slates.get(sportId);
+        if (slate == null) {
+            slates.putIfAbsent(sportId, Slate.EMPTY);
+            refresh(sportId);
+            return List.of();
+        }
+
+        return showFinal ? slate.all() : slate.live();
+    }
+
+    private static void refreshAll() {
+        for (String sportId : slates.keySet()) {
+            refresh(sportId);
+        }
+    }
+
+    /**
+     * Refreshes right after midnight in New York, then schedules the next one.
+     */
+    private static void scheduleRollover() {
+        ZonedDateTime now = ZonedDateTime.now(NEW_YORK);
+        ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(NEW_YORK);
+        executor.schedule(() -> {
+            logger.debug("New day in New York, refreshing today's slates");
+            refreshAll();
+            scheduleRollover();
+        }, Duration.between(now, midnight).plusSeconds(1).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static CompletableFuture<Void> refresh(String sportId) {
+        LocalDate today = LocalDate.now(NEW_YORK);
+        // Build the current date String as MM/DD/YYYY
+        String date = today.format(DateTimeFormatter.ofPattern("MM/dd/yyyy"));
+
+        return RestClient.getAsync("https://statsapi.mlb.com/api/v1/schedule?language=en&sportId=" + sportId + "&date=" + date + "&hydrate=game,flags,team")
+            .thenAccept(response -> slates.put(sportId, Slate.of(response.asJSONObject())))
+            .whenComplete((unused, error) -> {
+                if (error != null) logger.warn("Failed to refresh today's slate for sport {}: {}", sportId, error.getMessage());
+            });
+    }
+
+    /**
+     * A day's games as choices.
+     *
+     * @param live the games that are live
+     * @param all every game
+     */
+    private record Slate(List<Command.Choice> live, List<Command.Choice> all) {
+        static final Slate EMPTY = new Slate(List.of(), List.of());
+
+        /**
+         * Builds the choices for a day's schedule.
+         *
+         * @param gameResponse the schedule for the day
+         * @return the slate
+         */
+        static Slate of(JSONObject gameResponse) {
+            JSONArray dates = gameResponse.getJSONArray("dates");
+
+            // No games today
+            if (dates.isEmpty()) {
+                return EMPTY;
+            }
+
+            List<Command.Choice> live = new ArrayList<>();
+            List<Command.Choice> all = new ArrayList<>();
+
+            JSONArray games = dates.getJSONObject(0).getJSONArray("games");
+            for (int i = 0; i < games.length(); i++) {
+                JSONObject game = games.getJSONObject(i);
+
+                String status = game.getJSONObject("status").getString("abstractGameState");
+
+                String home = game.getJSONObject("teams").getJSONObject("home").getJSONObject("team").getString("clubName");
+                String awa = game.getJSONObject("teams").getJSONObject("away").getJSONObject("team").getString("clubName");
+
+                boolean isDoubleHeader = game.getString("doubleHeader").equals("Y");
+
+                String name = String.format("%s @ %s", awa, home);
+                if (isDoubleHeader) {
+                    name += " (Game %d)".formatted(game.getInt("gameNumber"));
+                }
+
+                Command.Choice choice = new Command.Choice(name, game.getInt("gamePk"));
+                all.add(choice);
+                if (status.equals("Live")) {
+                    live.add(choice);
+                }
+            }
+
+            return new Slate(List.copyOf(live), List.copyOf(all));
+        }
+    }
+}
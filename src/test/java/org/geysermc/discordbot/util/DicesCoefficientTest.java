@@ -0,0 +1,72 @@
+package org.geysermc.discordbot.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DicesCoefficientTest {
+    private static int[][] candidates(String... names) {
+        int[][] bigrams = new int[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            bigrams[i] = DicesCoefficient.bigrams(names[i]);
+        }
+        return bigrams;
+    }
+
+    @Test
+    void bigramsAreSorted() {
+        int[] bigrams = DicesCoefficient.bigrams("cab");
+
+        assertArrayEquals(new int[]{'a' << 16 | 'b', 'c' << 16 | 'a'}, bigrams);
+        assertEquals(0, DicesCoefficient.bigrams("a").length);
+        assertEquals(0, DicesCoefficient.bigrams(null).length);
+    }
+
+    @Test
+    void rankOrdersByScore() {
+        int[][] candidates = candidates("mets", "yankees", "yanks", "red sox");
+
+        assertArrayEquals(new int[]{2, 1}, DicesCoefficient.rank("yanks", candidates, 0.2, 25));
+    }
+
+    @Test
+    void rankKeepsOrderForTies() {
+        int[][] candidates = candidates("abx", "aby", "abz");
+
+        assertArrayEquals(new int[]{0, 1, 2}, DicesCoefficient.rank("ab", candidates, 0.2, 25));
+    }
+
+    @Test
+    void rankDropsLowScoresAndKeepsTheBestWhenLimited() {
+        int[][] candidates = candidates("cubs", "cubans", "cub", "reds");
+
+        // "cub" is exact, then "cubs", then "cubans"; "reds" shares nothing
+        assertArrayEquals(new int[]{2, 0}, DicesCoefficient.rank("cub", candidates, 0.2, 2));
+        assertArrayEquals(new int[]{2, 0, 1}, DicesCoefficient.rank("cub", candidates, 0.2, 25));
+        assertArrayEquals(new int[]{2}, DicesCoefficient.rank("cub", candidates, 0.9, 25));
+    }
+
+    @Test
+    void rankMatchesTheSingleComparison() {
+        String[] names = {"los angeles dodgers", "san diego padres", "san francisco giants"};
+        int[] ranked = DicesCoefficient.rank("san fran", candidates(names), 0, 25);
+
+        for (int i = 1; i < ranked.length; i++) {
+            double previous = DicesCoefficient.diceCoefficientOptimized("san fran", names[ranked[i - 1]]);
+            double current = DicesCoefficient.diceCoefficientOptimized("san fran", names[ranked[i]]);
+            assertTrue(previous >= current);
+        }
+        assertEquals(2, ranked[0]);
+    }
+
+    @Test
+    void shortQueriesAndNoLimitRankNothing() {
+        int[][] candidates = candidates("mets");
+
+        assertEquals(0, DicesCoefficient.rank("m", candidates, 0, 25).length);
+        assertEquals(0, DicesCoefficient.rank(null, candidates, 0, 25).length);
+        assertEquals(0, DicesCoefficient.rank("mets", candidates, 0, 0).length);
+    }
+}
@@ -0,0 +1,69 @@
+package pw.chew.mlb.objects;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollCadenceTest {
+    private static GameSnapshot snapshot(String detailedState, String inningState, int balls, int strikes) {
+        return snapshot(detailedState, inningState, balls, strikes, OffsetDateTime.now().plusHours(3));
+    }
+
+    private static GameSnapshot snapshot(String detailedState, String inningState, int balls, int strikes, OffsetDateTime start) {
+        JSONObject feed = new JSONObject()
+            .put("gameData", new JSONObject()
+                .put("status", new JSONObject().put("abstractGameState", "Live").put("detailedState", detailedState))
+                .put("datetime", new JSONObject().put("dateTime", start.toString())))
+            .put("liveData", new JSONObject()
+                .put("linescore", new JSONObject().put("inningState", inningState))
+                .put("plays", new JSONObject()
+                    .put("currentPlay", new JSONObject().put("count", new JSONObject().put("balls", balls).put("strikes", strikes)))));
+        return GameSnapshot.from(feed, "1");
+    }
+
+    @Test
+    void nextDelayStaysWithinTenPercent() {
+        for (PollCadence cadence : PollCadence.values()) {
+            long interval = cadence.interval().toMillis();
+            for (int i = 0; i < 1_000; i++) {
+                long delay = cadence.nextDelay().toMillis();
+                assertTrue(delay >= Math.floor(interval * 0.9) && delay <= Math.ceil(interval * 1.1),
+                    cadence + " delay " + delay + " is too far from " + interval);
+            }
+        }
+    }
+
+    @Test
+    void nextDelayIsJittered() {
+        Set<Duration> delays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            delays.add(PollCadence.LIVE.nextDelay());
+        }
+        assertTrue(delays.size() > 1, "Every delay was the same");
+    }
+
+    @Test
+    void failedGamesPollAtTheFixedRate() {
+        assertEquals(PollCadence.UNKNOWN, PollCadence.of(GameSnapshot.failed("1")));
+    }
+
+    @Test
+    void cadenceFollowsTheGame() {
+        assertEquals(PollCadence.DELAYED, PollCadence.of(snapshot("Delayed: Rain", "Top", 0, 0)));
+        assertEquals(PollCadence.WARMUP, PollCadence.of(snapshot("Warmup", "", 0, 0)));
+        assertEquals(PollCadence.PRE_GAME, PollCadence.of(snapshot("Scheduled", "", 0, 0)));
+        assertEquals(PollCadence.WARMUP, PollCadence.of(snapshot("Pre-Game", "", 0, 0, OffsetDateTime.now().plusMinutes(5))));
+        assertEquals(PollCadence.INNING_BREAK, PollCadence.of(snapshot("In Progress", "Middle", 0, 0)));
+        assertEquals(PollCadence.INNING_BREAK, PollCadence.of(snapshot("In Progress", "End", 0, 0)));
+        assertEquals(PollCadence.DECISIVE_COUNT, PollCadence.of(snapshot("In Progress", "Top", 3, 1)));
+        assertEquals(PollCadence.DECISIVE_COUNT, PollCadence.of(snapshot("In Progress", "Bottom", 1, 2)));
+        assertEquals(PollCadence.LIVE, PollCadence.of(snapshot("In Progress", "Top", 1, 1)));
+    }
+}
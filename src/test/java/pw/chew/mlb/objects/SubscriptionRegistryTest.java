@@ -0,0 +1,126 @@
+package pw.chew.mlb.objects;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.HTreeMap;
+import org.mapdb.Serializer;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubscriptionRegistryTest {
+    private static final DeliveryProfile QUIET = new DeliveryProfile(0, 0, true, false);
+
+    private HTreeMap<String, ActiveGame> games;
+    private HTreeMap<String, String> guilds;
+
+    @BeforeEach
+    void setUp() {
+        DB db = DBMaker.memoryDB().make();
+        games = db.hashMap("games", Serializer.STRING, new ActiveGame.EntrySerializer()).create();
+        guilds = db.hashMap("guilds", Serializer.STRING, Serializer.STRING).create();
+    }
+
+    @Test
+    void loadsSavedSubscriptions() {
+        games.put("c1", new ActiveGame("1", "c1"));
+        games.put("c2", new ActiveGame("1", "c2"));
+        guilds.put("c1", "g1");
+
+        SubscriptionRegistry registry = new SubscriptionRegistry(games, guilds);
+
+        assertEquals(2, registry.size());
+        assertEquals(2, registry.forGame("1").size());
+        assertEquals(List.of(new ActiveGame("1", "c1")), registry.forGuild("g1"));
+        assertEquals(2, registry.buckets("1").get(DeliveryProfile.DEFAULT).size());
+    }
+
+    @Test
+    void addReplacesTheChannelsGame() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(games, guilds);
+        registry.add(new ActiveGame("1", "c1"), "g1");
+        registry.add(new ActiveGame("2", "c1"), null);
+
+        assertEquals(1, registry.size());
+        assertTrue(registry.forGame("1").isEmpty());
+        assertTrue(registry.buckets("1").isEmpty());
+        assertEquals(List.of(new ActiveGame("2", "c1")), registry.forGame("2"));
+        // The guild is kept when it isn't given again
+        assertEquals(List.of(new ActiveGame("2", "c1")), registry.forGuild("g1"));
+        assertEquals(new ActiveGame("2", "c1"), games.get("c1"));
+    }
+
+    @Test
+    void setProfileMovesTheChannelBetweenBuckets() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(games, guilds);
+        registry.add(new ActiveGame("1", "c1"), "g1");
+        registry.add(new ActiveGame("1", "c2"), "g1");
+
+        registry.setProfile("c1", QUIET);
+
+        Map<DeliveryProfile, List<ActiveGame>> buckets = registry.buckets("1");
+        assertEquals(List.of(new ActiveGame("1", "c1")), buckets.get(QUIET));
+        assertEquals(List.of(new ActiveGame("1", "c2")), buckets.get(DeliveryProfile.DEFAULT));
+
+        // The profile sticks when the channel follows another game
+        registry.add(new ActiveGame("2", "c1"), null);
+        assertEquals(List.of(new ActiveGame("2", "c1")), registry.buckets("2").get(QUIET));
+        assertEquals(Map.of(DeliveryProfile.DEFAULT, List.of(new ActiveGame("1", "c2"))), registry.buckets("1"));
+    }
+
+    @Test
+    void linkGuildIndexesTheChannel() {
+        games.put("c1", new ActiveGame("1", "c1"));
+        SubscriptionRegistry registry = new SubscriptionRegistry(games, guilds);
+
+        registry.linkGuild("c1", "g1");
+        registry.linkGuild("c2", "g1");
+
+        assertEquals(List.of(new ActiveGame("1", "c1")), registry.forGuild("g1"));
+        assertEquals("g1", guilds.get("c1"));
+        assertNull(guilds.get("c2"));
+    }
+
+    @Test
+    void linkAllSetsGuildsAndProfilesAtOnce() {
+        games.put("c1", new ActiveGame("1", "c1"));
+        games.put("c2", new ActiveGame("1", "c2"));
+        SubscriptionRegistry registry = new SubscriptionRegistry(games, guilds);
+
+        registry.linkAll(Map.of("c1", "g1", "c3", "g1"), Map.of("c1", QUIET, "c3", QUIET));
+
+        assertEquals(List.of(new ActiveGame("1", "c1")), registry.forGuild("g1"));
+        assertEquals("g1", guilds.get("c1"));
+        assertNull(guilds.get("c3"));
+        assertEquals(Map.of(QUIET, List.of(new ActiveGame("1", "c1")), DeliveryProfile.DEFAULT, List.of(new ActiveGame("1", "c2"))),
+            registry.buckets("1"));
+
+        // Later changes keep what was linked
+        registry.add(new ActiveGame("2", "c1"), null);
+        assertEquals(List.of(new ActiveGame("2", "c1")), registry.buckets("2").get(QUIET));
+        assertEquals(List.of(new ActiveGame("2", "c1")), registry.forGuild("g1"));
+    }
+
+    @Test
+    void removeDropsEveryIndexEntry() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(games, guilds);
+        registry.add(new ActiveGame("1", "c1"), "g1");
+        registry.setProfile("c1", QUIET);
+
+        assertEquals(new ActiveGame("1", "c1"), registry.remove("c1"));
+        assertNull(registry.remove("c1"));
+
+        assertEquals(0, registry.size());
+        assertTrue(registry.all().isEmpty());
+        assertTrue(registry.forGame("1").isEmpty());
+        assertTrue(registry.buckets("1").isEmpty());
+        assertTrue(registry.forGuild("g1").isEmpty());
+        assertTrue(games.isEmpty());
+    }
+}
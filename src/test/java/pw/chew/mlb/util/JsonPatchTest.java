@@ -0,0 +1,133 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonPatchTest {
+    private static JSONObject document() {
+        return new JSONObject("""
+            {
+              "gameData": {"status": {"abstractGameState": "Live"}},
+              "liveData": {"plays": {"allPlays": [{"atBatIndex": 0}, {"atBatIndex": 1}]}, "linescore": {"outs": 1}}
+            }
+            """);
+    }
+
+    private static JSONArray ops(String json) {
+        return new JSONArray(json);
+    }
+
+    @Test
+    void replaceLeavesTheOriginalAlone() {
+        JSONObject original = document();
+        String before = original.toString();
+
+        JSONObject patched = JsonPatch.apply(original, ops("""
+            [{"op": "replace", "path": "/liveData/linescore/outs", "value": 2}]
+            """));
+
+        assertEquals(2, patched.getJSONObject("liveData").getJSONObject("linescore").getInt("outs"));
+        assertTrue(new JSONObject(before).similar(original));
+    }
+
+    @Test
+    void untouchedBranchesAreShared() {
+        JSONObject original = document();
+
+        JSONObject patched = JsonPatch.apply(original, ops("""
+            [{"op": "replace", "path": "/liveData/linescore/outs", "value": 2}]
+            """));
+
+        assertSame(original.getJSONObject("gameData"), patched.getJSONObject("gameData"));
+        assertSame(original.getJSONObject("liveData").getJSONObject("plays"), patched.getJSONObject("liveData").getJSONObject("plays"));
+    }
+
+    @Test
+    void addAppendsAndInserts() {
+        JSONObject patched = JsonPatch.apply(document(), ops("""
+            [
+              {"op": "add", "path": "/liveData/plays/allPlays/-", "value": {"atBatIndex": 2}},
+              {"op": "add", "path": "/liveData/plays/allPlays/0", "value": {"atBatIndex": -1}}
+            ]
+            """));
+
+        JSONArray plays = patched.getJSONObject("liveData").getJSONObject("plays").getJSONArray("allPlays");
+        assertEquals(4, plays.length());
+        assertEquals(-1, plays.getJSONObject(0).getInt("atBatIndex"));
+        assertEquals(2, plays.getJSONObject(3).getInt("atBatIndex"));
+    }
+
+    @Test
+    void removeMoveAndCopy() {
+        JSONObject patched = JsonPatch.apply(document(), ops("""
+            [
+              {"op": "remove", "path": "/liveData/plays/allPlays/0"},
+              {"op": "copy", "from": "/liveData/linescore", "path": "/linescoreCopy"},
+              {"op": "move", "from": "/gameData/status", "path": "/status"}
+            ]
+            """));
+
+        assertEquals(1, patched.getJSONObject("liveData").getJSONObject("plays").getJSONArray("allPlays").getJSONObject(0).getInt("atBatIndex"));
+        assertEquals(1, patched.getJSONObject("linescoreCopy").getInt("outs"));
+        assertEquals("Live", patched.getJSONObject("status").getString("abstractGameState"));
+        assertTrue(patched.getJSONObject("gameData").isEmpty());
+    }
+
+    @Test
+    void escapedPointersAreUnescaped() {
+        JSONObject patched = JsonPatch.apply(new JSONObject("{\"a/b\": {\"c~d\": 1}}"), ops("""
+            [{"op": "replace", "path": "/a~1b/c~0d", "value": 2}]
+            """));
+
+        assertEquals(2, patched.getJSONObject("a/b").getInt("c~d"));
+    }
+
+    @Test
+    void failedTestThrows() {
+        assertThrows(IllegalStateException.class, () -> JsonPatch.apply(document(), ops("""
+            [{"op": "test", "path": "/liveData/linescore/outs", "value": 2}]
+            """)));
+    }
+
+    @Test
+    void missingPathsThrow() {
+        assertThrows(IllegalStateException.class, () -> JsonPatch.apply(document(), ops("""
+            [{"op": "replace", "path": "/liveData/nope/outs", "value": 2}]
+            """)));
+        assertThrows(IllegalStateException.class, () -> JsonPatch.apply(document(), ops("""
+            [{"op": "remove", "path": "/liveData/plays/allPlays/5"}]
+            """)));
+    }
+
+    @Test
+    void selectionSkipsUnkeptPathsAndTrimsValues() {
+        JsonStream.Selection kept = JsonStream.Selection.of()
+            .with("liveData", JsonStream.Selection.of("linescore")
+                .with("plays", JsonStream.Selection.of().with("allPlays", JsonStream.Selection.of("atBatIndex"))));
+        JSONObject original = JsonStream.read(document().toString(), kept);
+
+        JSONObject patched = JsonPatch.apply(original, ops("""
+            [
+              {"op": "replace", "path": "/gameData/status/abstractGameState", "value": "Final"},
+              {"op": "add", "path": "/liveData/plays/allPlays/1/pitchData", "value": {"speed": 99}},
+              {"op": "add", "path": "/liveData/plays/allPlays/-", "value": {"atBatIndex": 2, "pitchData": {"speed": 99}}},
+              {"op": "replace", "path": "/liveData/linescore/outs", "value": 2}
+            ]
+            """), kept);
+
+        assertTrue(new JSONObject("""
+            {"liveData": {"plays": {"allPlays": [{"atBatIndex": 0}, {"atBatIndex": 1}, {"atBatIndex": 2}]}, "linescore": {"outs": 2}}}
+            """).similar(patched));
+
+        // A value we didn't keep can't be moved into something we keep
+        assertThrows(IllegalStateException.class, () -> JsonPatch.apply(original, ops("""
+            [{"op": "move", "from": "/gameData/status", "path": "/liveData/linescore/status"}]
+            """), kept));
+    }
+}
@@ -0,0 +1,96 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonStreamTest {
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void keepsOnlySelectedFields() {
+        JSONObject read = JsonStream.read(json("""
+            {"keep": {"a": 1, "b": [1, 2]}, "skip": {"a": "tricky \\" } ] string", "b": [{"c": null}]}, "n": -1.5e3, "t": true}
+            """), JsonStream.Selection.of("keep", "t"));
+
+        assertEquals(2, read.length());
+        assertTrue(read.getJSONObject("keep").similar(new JSONObject("{\"a\": 1, \"b\": [1, 2]}")));
+        assertTrue(read.getBoolean("t"));
+    }
+
+    @Test
+    void selectsNestedFields() {
+        JSONObject read = JsonStream.read(json("""
+            {"gameData": {"status": {"detailedState": "Live"}, "players": {"ID1": {"x": 1}}}, "liveData": {"linescore": {"outs": 2}}}
+            """), JsonStream.Selection.of()
+            .with("gameData", JsonStream.Selection.of("status"))
+            .with("liveData", JsonStream.Selection.of().with("linescore", JsonStream.Selection.of("outs"))));
+
+        assertEquals("Live", read.getJSONObject("gameData").getJSONObject("status").getString("detailedState"));
+        assertFalse(read.getJSONObject("gameData").has("players"));
+        assertEquals(2, read.getJSONObject("liveData").getJSONObject("linescore").getInt("outs"));
+    }
+
+    @Test
+    void anyKeyAppliesToUnknownFields() {
+        JSONObject read = JsonStream.read(json("""
+            {"players": {"ID1": {"note": "W", "stats": 1}, "ID2": {"note": "L", "stats": 2}}}
+            """), JsonStream.Selection.of().with("players", JsonStream.Selection.of().any(JsonStream.Selection.of("note"))));
+
+        JSONObject players = read.getJSONObject("players");
+        assertEquals("W", players.getJSONObject("ID1").getString("note"));
+        assertEquals("L", players.getJSONObject("ID2").getString("note"));
+        assertFalse(players.getJSONObject("ID1").has("stats"));
+    }
+
+    @Test
+    void selectionAppliesToEachArrayElement() {
+        JSONObject read = JsonStream.read(json("""
+            {"plays": [{"about": 1, "junk": 2}, {"about": 3, "junk": 4}]}
+            """), JsonStream.Selection.of().with("plays", JsonStream.Selection.of("about")));
+
+        assertEquals(2, read.getJSONArray("plays").length());
+        assertFalse(read.getJSONArray("plays").getJSONObject(1).has("junk"));
+        assertEquals(3, read.getJSONArray("plays").getJSONObject(1).getInt("about"));
+    }
+
+    @Test
+    void eachHandsElementsOverInsteadOfKeepingThem() {
+        List<Integer> seen = new ArrayList<>();
+        JSONObject read = JsonStream.read(json("""
+            {"plays": [{"about": 1}, {"about": 2}, {"about": 3}], "after": "kept"}
+            """), JsonStream.Selection.of("after").with("plays", JsonStream.Selection.of("about").each(play -> seen.add(play.getInt("about")))));
+
+        assertEquals(List.of(1, 2, 3), seen);
+        assertFalse(read.has("plays"));
+        assertEquals("kept", read.getString("after"));
+    }
+
+    @Test
+    void emptyContainers() {
+        JSONObject read = JsonStream.read(json("{\"a\": {}, \"b\": []}"), JsonStream.Selection.of().with("a", JsonStream.Selection.of()).with("b", JsonStream.Selection.of()));
+
+        assertTrue(read.getJSONObject("a").isEmpty());
+        assertTrue(read.getJSONArray("b").isEmpty());
+    }
+
+    @Test
+    void invalidJsonThrows() {
+        assertThrows(JSONException.class, () -> JsonStream.read(json("[1, 2]"), JsonStream.Selection.of()));
+        assertThrows(JSONException.class, () -> JsonStream.read(json("{\"a\": {\"b\": 1"), JsonStream.Selection.of()));
+        assertThrows(JSONException.class, () -> JsonStream.read(json("{\"a\" 1}"), JsonStream.Selection.of("a")));
+    }
+}
@@ -0,0 +1,74 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TeamSearchIndexTest {
+    private static TeamSearchIndex index(String... names) {
+        JSONArray teams = new JSONArray();
+        for (int i = 0; i < names.length; i++) {
+            teams.put(new JSONObject().put("name", names[i]).put("id", i + 1));
+        }
+        return TeamSearchIndex.of(teams);
+    }
+
+    private static List<String> names(List<TeamSearchIndex.Team> teams) {
+        return teams.stream().map(TeamSearchIndex.Team::name).toList();
+    }
+
+    @Test
+    void prefixMatchesComeFirstInNameOrder() {
+        TeamSearchIndex index = index("New York Yankees", "Boston Red Sox", "New York Mets", "Chicago White Sox");
+
+        List<String> results = names(index.search("new york", 25));
+
+        assertEquals(List.of("New York Mets", "New York Yankees"), results.subList(0, 2));
+    }
+
+    @Test
+    void similarNamesFollowPrefixMatchesWithoutDuplicates() {
+        TeamSearchIndex index = index("Boston Red Sox", "Chicago White Sox", "Chicago Cubs");
+
+        List<String> results = names(index.search("chicago white", 25));
+
+        assertEquals("Chicago White Sox", results.get(0));
+        assertTrue(results.contains("Chicago Cubs"));
+        assertEquals(results.size(), results.stream().distinct().count());
+    }
+
+    @Test
+    void typosStillMatch() {
+        TeamSearchIndex index = index("Los Angeles Dodgers", "San Francisco Giants", "Seattle Mariners");
+
+        assertEquals("Los Angeles Dodgers", index.search("dodgrs", 25).get(0).name());
+    }
+
+    @Test
+    void accentsCaseAndSpacesAreIgnored() {
+        TeamSearchIndex index = index("Águilas de Mexicali", "Tomateros de Culiacán");
+
+        assertEquals(List.of("Águilas de Mexicali"), names(index.search("  AGUILAS   de", 1)));
+        assertEquals("aguilas de mexicali", TeamSearchIndex.normalize("Águilas  de Mexicali"));
+    }
+
+    @Test
+    void resultsAreLimited() {
+        TeamSearchIndex index = index("Team A", "Team B", "Team C", "Team D");
+
+        assertEquals(List.of("Team A", "Team B"), names(index.search("team", 2)));
+        assertEquals(List.of("Team A", "Team B", "Team C"), names(index.search(" ", 3)));
+    }
+
+    @Test
+    void unrelatedQueriesFindNothing() {
+        TeamSearchIndex index = index("New York Yankees", "Boston Red Sox");
+
+        assertTrue(index.search("zzzz", 25).isEmpty());
+    }
+}